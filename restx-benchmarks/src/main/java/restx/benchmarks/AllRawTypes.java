@@ -0,0 +1,263 @@
+package restx.benchmarks;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A bean with the raw types of samplest AllRawTypesCriteria which jackson handles with its standard and joda modules.
+ */
+public class AllRawTypes {
+    public enum MyEnum { foo, bar }
+
+    private String str;
+    private MyEnum myEnum;
+    private BigDecimal bigDecimal;
+    private BigInteger bigInteger;
+    private Currency currency;
+    private Date date;
+    private Locale locale;
+    private UUID uuid;
+    private URI uri;
+    private DateTime jodaDateTime;
+    private LocalDate jodaLocalDate;
+    private byte aByte;
+    private short aShort;
+    private int anInt;
+    private long aLong;
+    private float aFloat;
+    private double aDouble;
+    private boolean aBoolean;
+    private char aChar;
+    private Byte aByteWrapper;
+    private Short aShortWrapper;
+    private Integer anIntegerWrapper;
+    private Long aLongWrapper;
+    private Float aFloatWrapper;
+    private Double aDoubleWrapper;
+    private Boolean aBooleanWrapper;
+    private Character aCharacterWrapper;
+
+    public String getStr() {
+        return str;
+    }
+
+    public void setStr(String str) {
+        this.str = str;
+    }
+
+    public MyEnum getMyEnum() {
+        return myEnum;
+    }
+
+    public void setMyEnum(MyEnum myEnum) {
+        this.myEnum = myEnum;
+    }
+
+    public BigDecimal getBigDecimal() {
+        return bigDecimal;
+    }
+
+    public void setBigDecimal(BigDecimal bigDecimal) {
+        this.bigDecimal = bigDecimal;
+    }
+
+    public BigInteger getBigInteger() {
+        return bigInteger;
+    }
+
+    public void setBigInteger(BigInteger bigInteger) {
+        this.bigInteger = bigInteger;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public void setDate(Date date) {
+        this.date = date;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public void setUri(URI uri) {
+        this.uri = uri;
+    }
+
+    public DateTime getJodaDateTime() {
+        return jodaDateTime;
+    }
+
+    public void setJodaDateTime(DateTime jodaDateTime) {
+        this.jodaDateTime = jodaDateTime;
+    }
+
+    public LocalDate getJodaLocalDate() {
+        return jodaLocalDate;
+    }
+
+    public void setJodaLocalDate(LocalDate jodaLocalDate) {
+        this.jodaLocalDate = jodaLocalDate;
+    }
+
+    public byte getAByte() {
+        return aByte;
+    }
+
+    public void setAByte(byte aByte) {
+        this.aByte = aByte;
+    }
+
+    public short getAShort() {
+        return aShort;
+    }
+
+    public void setAShort(short aShort) {
+        this.aShort = aShort;
+    }
+
+    public int getAnInt() {
+        return anInt;
+    }
+
+    public void setAnInt(int anInt) {
+        this.anInt = anInt;
+    }
+
+    public long getALong() {
+        return aLong;
+    }
+
+    public void setALong(long aLong) {
+        this.aLong = aLong;
+    }
+
+    public float getAFloat() {
+        return aFloat;
+    }
+
+    public void setAFloat(float aFloat) {
+        this.aFloat = aFloat;
+    }
+
+    public double getADouble() {
+        return aDouble;
+    }
+
+    public void setADouble(double aDouble) {
+        this.aDouble = aDouble;
+    }
+
+    public boolean isABoolean() {
+        return aBoolean;
+    }
+
+    public void setABoolean(boolean aBoolean) {
+        this.aBoolean = aBoolean;
+    }
+
+    public char getAChar() {
+        return aChar;
+    }
+
+    public void setAChar(char aChar) {
+        this.aChar = aChar;
+    }
+
+    public Byte getAByteWrapper() {
+        return aByteWrapper;
+    }
+
+    public void setAByteWrapper(Byte aByteWrapper) {
+        this.aByteWrapper = aByteWrapper;
+    }
+
+    public Short getAShortWrapper() {
+        return aShortWrapper;
+    }
+
+    public void setAShortWrapper(Short aShortWrapper) {
+        this.aShortWrapper = aShortWrapper;
+    }
+
+    public Integer getAnIntegerWrapper() {
+        return anIntegerWrapper;
+    }
+
+    public void setAnIntegerWrapper(Integer anIntegerWrapper) {
+        this.anIntegerWrapper = anIntegerWrapper;
+    }
+
+    public Long getALongWrapper() {
+        return aLongWrapper;
+    }
+
+    public void setALongWrapper(Long aLongWrapper) {
+        this.aLongWrapper = aLongWrapper;
+    }
+
+    public Float getAFloatWrapper() {
+        return aFloatWrapper;
+    }
+
+    public void setAFloatWrapper(Float aFloatWrapper) {
+        this.aFloatWrapper = aFloatWrapper;
+    }
+
+    public Double getADoubleWrapper() {
+        return aDoubleWrapper;
+    }
+
+    public void setADoubleWrapper(Double aDoubleWrapper) {
+        this.aDoubleWrapper = aDoubleWrapper;
+    }
+
+    public Boolean getABooleanWrapper() {
+        return aBooleanWrapper;
+    }
+
+    public void setABooleanWrapper(Boolean aBooleanWrapper) {
+        this.aBooleanWrapper = aBooleanWrapper;
+    }
+
+    public Character getACharacterWrapper() {
+        return aCharacterWrapper;
+    }
+
+    public void setACharacterWrapper(Character aCharacterWrapper) {
+        this.aCharacterWrapper = aCharacterWrapper;
+    }
+}
@@ -0,0 +1,101 @@
+package restx.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import restx.jackson.blackbird.BlackbirdModuleFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization and deserialization of a bean with many properties, with a mapper accessing them
+ * by reflection, and with a mapper having the Blackbird module provided by restx-jackson-blackbird registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlackbirdBenchmark {
+    @Param({"reflection", "blackbird"})
+    private String access;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private AllRawTypes value;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JodaModule());
+        if ("blackbird".equals(access)) {
+            mapper.registerModule(new BlackbirdModuleFactory().blackbirdModule());
+        }
+        writer = mapper.writerFor(AllRawTypes.class);
+        reader = mapper.readerFor(AllRawTypes.class);
+
+        value = new AllRawTypes();
+        value.setStr("restx");
+        value.setMyEnum(AllRawTypes.MyEnum.bar);
+        value.setBigDecimal(new BigDecimal("1234.5678"));
+        value.setBigInteger(new BigInteger("12345678901234567890"));
+        value.setCurrency(Currency.getInstance("EUR"));
+        value.setDate(new Date(1500000000000L));
+        value.setLocale(Locale.FRANCE);
+        value.setUuid(UUID.fromString("4c9b0f5e-3c55-4b8e-9e4a-3f0e5b6a7c8d"));
+        value.setUri(URI.create("http://restx.io/"));
+        value.setJodaDateTime(new DateTime(1500000000000L, DateTimeZone.UTC));
+        value.setJodaLocalDate(new LocalDate(2017, 7, 14));
+        value.setAByte((byte) 1);
+        value.setAShort((short) 2);
+        value.setAnInt(3);
+        value.setALong(4L);
+        value.setAFloat(5.5f);
+        value.setADouble(6.5);
+        value.setABoolean(true);
+        value.setAChar('x');
+        value.setAByteWrapper((byte) 1);
+        value.setAShortWrapper((short) 2);
+        value.setAnIntegerWrapper(3);
+        value.setALongWrapper(4L);
+        value.setAFloatWrapper(5.5f);
+        value.setADoubleWrapper(6.5);
+        value.setABooleanWrapper(true);
+        value.setACharacterWrapper('x');
+        json = writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public AllRawTypes deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
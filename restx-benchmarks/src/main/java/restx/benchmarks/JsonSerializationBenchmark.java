@@ -0,0 +1,196 @@
+package restx.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import org.joda.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import restx.AbstractResponse;
+import restx.RestxContext;
+import restx.RestxHandlerMatch;
+import restx.RestxRequest;
+import restx.RouteLifecycleListener;
+import restx.StdRequest;
+import restx.entity.EntityResponseWriter;
+import restx.entity.EntityResponseWriterRegistry;
+import restx.factory.Factory;
+import restx.factory.Name;
+import restx.http.HttpStatus;
+import restx.jackson.FrontObjectMapperFactory;
+import restx.jackson.Views;
+import restx.security.RestxSessionCookieDescriptor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the write of a list of entities to a response, for payloads of 1 KB, 100 KB and 10 MB.
+ *
+ * The JSON entity response writer built by the factory in PROD mode writes UTF-8 bytes through a pooled buffer of
+ * BufferedResponseOutputStream.BUFFER_SIZE bytes, and sets the Content-Length of payloads fitting in it. It is
+ * compared with writing the same list through the response writer, as JSON entity response writers did before.
+ *
+ * The response body is discarded, only its size is kept.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drestx.mode=prod")
+public class JsonSerializationBenchmark {
+    @Param({"1", "100", "10240"})
+    private int payloadKb;
+
+    private Factory factory;
+    private EntityResponseWriter<List<User>> usersWriter;
+    private ObjectWriter unbufferedWriter;
+    private RestxRequest request;
+    private RestxContext context;
+    private List<User> users;
+
+    @Setup
+    public void setup() throws IOException {
+        factory = Factory.builder().addFromServiceLoader().build();
+        Type usersType = new TypeToken<List<User>>() { }.getType();
+        usersWriter = factory.getComponent(EntityResponseWriterRegistry.class)
+                .build(usersType, Optional.<String>absent());
+        unbufferedWriter = factory.getComponent(Name.of(ObjectWriter.class, FrontObjectMapperFactory.WRITER_NAME))
+                .withView(Views.Transient.class)
+                .with(SerializationFeature.EAGER_SERIALIZER_FETCH)
+                .forType(TypeFactory.defaultInstance().constructType(usersType));
+
+        request = StdRequest.builder()
+                .setHttpMethod("GET").setRestxPath("/users").setBaseUri("http://localhost/api").build();
+        context = new RestxContext(RestxContext.Modes.PROD, RouteLifecycleListener.DEAF,
+                ImmutableList.<RestxHandlerMatch>of());
+
+        int userSize = unbufferedWriter.writeValueAsBytes(ImmutableList.of(user(0))).length;
+        ImmutableList.Builder<User> builder = ImmutableList.builder();
+        for (int i = 0; i < Math.max(1, payloadKb * 1024 / userSize); i++) {
+            builder.add(user(i));
+        }
+        users = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public long writeBuffered() throws Exception {
+        BenchmarkResponse resp = new BenchmarkResponse();
+        usersWriter.sendResponse(HttpStatus.OK, users, request, resp, context);
+        resp.close();
+        return resp.body.size;
+    }
+
+    @Benchmark
+    public long writeUnbuffered() throws Exception {
+        BenchmarkResponse resp = new BenchmarkResponse();
+        resp.setStatus(HttpStatus.OK);
+        resp.setContentType("application/json");
+        unbufferedWriter.writeValue(resp.getWriter(), users);
+        resp.close();
+        return resp.body.size;
+    }
+
+    private static User user(int i) {
+        return new User("user" + i, "user" + i + "@example.com", ImmutableList.of("user", "reader"));
+    }
+
+    public static class User {
+        private final String name;
+        private final String email;
+        private final List<String> roles;
+
+        public User(String name, String email, List<String> roles) {
+            this.name = name;
+            this.email = email;
+            this.roles = roles;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+    }
+
+    /**
+     * Counts the bytes of the body, and ignores status, headers and cookies.
+     */
+    private static class BenchmarkResponse extends AbstractResponse<Object> {
+        private final CountingOutputStream body = new CountingOutputStream();
+
+        private BenchmarkResponse() {
+            super(Object.class, new Object());
+        }
+
+        @Override
+        protected void closeResponse() throws IOException {
+        }
+
+        @Override
+        protected OutputStream doGetOutputStream() throws IOException {
+            return body;
+        }
+
+        @Override
+        protected void doSetStatus(HttpStatus httpStatus) {
+        }
+
+        @Override
+        protected void doSetHeader(String headerName, String header) {
+        }
+
+        @Override
+        public BenchmarkResponse addCookie(String cookie, String value,
+                                           RestxSessionCookieDescriptor cookieDescriptor, Duration expires) {
+            return this;
+        }
+
+        @Override
+        public BenchmarkResponse clearCookie(String cookie, RestxSessionCookieDescriptor cookieDescriptor) {
+            return this;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long size;
+
+        @Override
+        public void write(int b) {
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            size += len;
+        }
+    }
+}
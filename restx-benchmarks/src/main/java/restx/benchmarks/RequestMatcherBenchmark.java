@@ -0,0 +1,68 @@
+package restx.benchmarks;
+
+import com.google.common.base.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import restx.RestxRequestMatch;
+import restx.StdRestxRequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the match of a path against a pattern with path params, and the look up of a single path param, either
+ * through the map of all path params or directly.
+ *
+ * Patterns with default path params are matched by walking the path segments. The regex benchmarks match the same
+ * paths with the same default regex given explicitly, which makes the matcher use a java.util.regex.Pattern, as it
+ * did for all patterns before.
+ *
+ * Allocations matter as much as time here, run with the gc profiler to get them in bytes/op (gc.alloc.rate.norm):
+ * <pre>
+ *     java -jar restx-benchmarks/target/benchmarks.jar RequestMatcherBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMatcherBenchmark {
+    private final StdRestxRequestMatcher matcher =
+            new StdRestxRequestMatcher("GET", "/users/{userId}/orders/{orderId}");
+    private final StdRestxRequestMatcher regexMatcher =
+            new StdRestxRequestMatcher("GET", "/users/{userId:[^/]+}/orders/{orderId:[^/]+}");
+    private final String path = "/users/johndoe/orders/1234";
+
+    @Benchmark
+    public Optional<? extends RestxRequestMatch> match() {
+        return matcher.match("GET", path);
+    }
+
+    @Benchmark
+    public String matchAndGetPathParams() {
+        return matcher.match("GET", path).get().getPathParams().get("orderId");
+    }
+
+    @Benchmark
+    public Optional<String> matchAndFindPathParam() {
+        return matcher.match("GET", path).get().findPathParam("orderId");
+    }
+
+    @Benchmark
+    public Optional<? extends RestxRequestMatch> regexMatch() {
+        return regexMatcher.match("GET", path);
+    }
+
+    @Benchmark
+    public String regexMatchAndGetPathParams() {
+        return regexMatcher.match("GET", path).get().getPathParams().get("orderId");
+    }
+}
@@ -0,0 +1,197 @@
+package restx.benchmarks;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import restx.HttpSettings;
+import restx.HttpSettingsConfig;
+import restx.RestxContext;
+import restx.RestxRequest;
+import restx.RestxRequestMatch;
+import restx.RestxResponse;
+import restx.RestxRoute;
+import restx.StdRestxRequestMatcher;
+import restx.StdRoute;
+import restx.common.ConfigElement;
+import restx.common.StdRestxConfig;
+import restx.http.HttpStatus;
+import restx.servlet.HttpServletRestxRequest;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URLDecoder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the restx path and uri of servlet requests, as read by each route candidate, filters and logging.
+ *
+ * A request is matched by a linear scan of 1000 routes, each of them reading its restx path, then its restx uri is
+ * read 10 times. HttpServletRestxRequest computes them once per request, and only decodes paths having encoded
+ * chars. It is compared with a request computing and decoding them on each call, as it did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestxPathBenchmark {
+    private static final int ROUTES = 1000;
+
+    @Param({"/resources999/12", "/resources999/a%20b"})
+    private String path;
+
+    private HttpSettings settings;
+    private HttpServletRequest servletRequest;
+    private ImmutableList<RestxRoute> routes;
+
+    @Setup
+    public void setup() {
+        settings = new HttpSettingsConfig(StdRestxConfig.of(ImmutableList.<ConfigElement>of()));
+        servletRequest = new StubHttpServletRequest("/app", "/api", "/app/api" + path, "page=1&size=20");
+        ImmutableList.Builder<RestxRoute> builder = ImmutableList.builder();
+        for (int i = 0; i < ROUTES; i++) {
+            builder.add(new NoopRoute("GET", "/resources" + i + "/{id}"));
+        }
+        routes = builder.build();
+    }
+
+    @Benchmark
+    public int cachedPath() {
+        return route(new HttpServletRestxRequest(settings, servletRequest));
+    }
+
+    @Benchmark
+    public int uncachedPath() {
+        return route(new UncachedHttpServletRestxRequest(settings, servletRequest));
+    }
+
+    private int route(RestxRequest request) {
+        int matched = -1;
+        for (int i = 0; i < routes.size(); i++) {
+            if (routes.get(i).match(request).isPresent()) {
+                matched = i;
+                break;
+            }
+        }
+        int length = 0;
+        for (int i = 0; i < 10; i++) {
+            length += request.getRestxUri().length();
+        }
+        return matched + length;
+    }
+
+    /**
+     * Computes the restx path and uri on each call, and always decodes the path.
+     */
+    private static class UncachedHttpServletRestxRequest extends HttpServletRestxRequest {
+        private final HttpSettings settings;
+        private final HttpServletRequest request;
+
+        private UncachedHttpServletRestxRequest(HttpSettings settings, HttpServletRequest request) {
+            super(settings, request);
+            this.settings = settings;
+            this.request = request;
+        }
+
+        @Override
+        public String getRestxPath() {
+            String restxPath = request.getRequestURI().substring(
+                    (request.getContextPath() + request.getServletPath()).length());
+            if (settings.decodeURLPathParams()) {
+                try {
+                    restxPath = URLDecoder.decode(restxPath, "UTF-8");
+                } catch (UnsupportedEncodingException e) {
+                    throw Throwables.propagate(e);
+                }
+            }
+            return restxPath;
+        }
+
+        @Override
+        public String getRestxUri() {
+            if (request.getQueryString() == null) {
+                return getRestxPath();
+            } else {
+                return getRestxPath() + "?" + request.getQueryString();
+            }
+        }
+    }
+
+    /**
+     * Answers the paths of a request, other methods are not supported.
+     */
+    private static class StubHttpServletRequest extends HttpServletRequestWrapper {
+        private final String contextPath;
+        private final String servletPath;
+        private final String requestURI;
+        private final String queryString;
+
+        private StubHttpServletRequest(String contextPath, String servletPath, String requestURI, String queryString) {
+            super((HttpServletRequest) Proxy.newProxyInstance(
+                    RestxPathBenchmark.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+                    new InvocationHandler() {
+                        @Override
+                        public Object invoke(Object proxy, Method method, Object[] args) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    }));
+            this.contextPath = contextPath;
+            this.servletPath = servletPath;
+            this.requestURI = requestURI;
+            this.queryString = queryString;
+        }
+
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        @Override
+        public String getServletPath() {
+            return servletPath;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestURI;
+        }
+
+        @Override
+        public String getQueryString() {
+            return queryString;
+        }
+    }
+
+    private static class NoopRoute extends StdRoute {
+        private NoopRoute(String method, String path) {
+            super(method + " " + path, new StdRestxRequestMatcher(method, path));
+        }
+
+        @Override
+        public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
+                throws IOException {
+            resp.setStatus(HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package restx.benchmarks;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import restx.RestxContext;
+import restx.RestxFilter;
+import restx.RestxHandlerMatch;
+import restx.RestxRequest;
+import restx.RestxRequestMatch;
+import restx.RestxResponse;
+import restx.RestxRoute;
+import restx.RestxRouteFilter;
+import restx.RestxRouting;
+import restx.StdRequest;
+import restx.StdRestxRequestMatcher;
+import restx.StdRoute;
+import restx.factory.NamedComponent;
+import restx.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup of the route of a request, as done by the main router on each request.
+ *
+ * Routes are declared as GET and PUT on /resources{i}/{id}, the benchmarks look up the first and last declared
+ * routes, and a path no route matches, through RestxRouting and through a linear scan of the routes, as RestxRouting
+ * did before dispatching through a path segment trie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+    @Param({"10", "100", "1000"})
+    private int routesCount;
+
+    private ImmutableList<RestxRoute> routes;
+    private RestxRouting routing;
+    private RestxRequest firstRouteRequest;
+    private RestxRequest lastRouteRequest;
+    private RestxRequest unmatchedRequest;
+
+    @Setup
+    public void setup() {
+        int resources = routesCount / 2;
+        ImmutableList.Builder<RestxRoute> builder = ImmutableList.builder();
+        for (int i = 0; i < resources; i++) {
+            builder.add(new NoopRoute("GET", "/resources" + i + "/{id}"));
+            builder.add(new NoopRoute("PUT", "/resources" + i + "/{id}"));
+        }
+        routes = builder.build();
+        routing = new RestxRouting(
+                ImmutableList.<NamedComponent<RestxFilter>>of(),
+                ImmutableList.<NamedComponent<RestxRouteFilter>>of(),
+                routes);
+
+        firstRouteRequest = request("GET", "/resources0/12");
+        lastRouteRequest = request("PUT", "/resources" + (resources - 1) + "/12");
+        unmatchedRequest = request("GET", "/unknown/12");
+    }
+
+    @Benchmark
+    public Optional<RestxRouting.Match> matchFirstRoute() {
+        return routing.match(firstRouteRequest);
+    }
+
+    @Benchmark
+    public Optional<RestxRouting.Match> matchLastRoute() {
+        return routing.match(lastRouteRequest);
+    }
+
+    @Benchmark
+    public Optional<RestxRouting.Match> matchNoRoute() {
+        return routing.match(unmatchedRequest);
+    }
+
+    @Benchmark
+    public Optional<? extends RestxHandlerMatch> scanFirstRoute() {
+        return scan(firstRouteRequest);
+    }
+
+    @Benchmark
+    public Optional<? extends RestxHandlerMatch> scanLastRoute() {
+        return scan(lastRouteRequest);
+    }
+
+    @Benchmark
+    public Optional<? extends RestxHandlerMatch> scanNoRoute() {
+        return scan(unmatchedRequest);
+    }
+
+    private Optional<? extends RestxHandlerMatch> scan(RestxRequest request) {
+        for (RestxRoute route : routes) {
+            Optional<? extends RestxHandlerMatch> match = route.match(request);
+            if (match.isPresent()) {
+                return match;
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static RestxRequest request(String method, String path) {
+        return StdRequest.builder()
+                .setHttpMethod(method).setRestxPath(path).setBaseUri("http://localhost/api").build();
+    }
+
+    private static class NoopRoute extends StdRoute {
+        private NoopRoute(String method, String path) {
+            super(method + " " + path, new StdRestxRequestMatcher(method, path));
+        }
+
+        @Override
+        public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
+                throws IOException {
+            resp.setStatus(HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package restx.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import restx.security.Sessions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of Sessions.touch() by 8 concurrent threads, on sessions limited to 1000 entries.
+ *
+ * Each thread touches keys among 10000, so that touching evicts the least recently used sessions. A hot session
+ * touched by all threads is measured too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SessionsBenchmark {
+    private static final int LIMIT = 1000;
+    private static final int KEYS = 10000;
+    private static final ImmutableMap<String, String> METADATA = ImmutableMap.of("clientAddress", "127.0.0.1");
+
+    private Sessions sessions;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        sessions = new Sessions(LIMIT);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "session" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        @Setup
+        public void setup() {
+            // threads start at different keys
+            next = System.identityHashCode(this) & Integer.MAX_VALUE;
+        }
+
+        int next() {
+            return next++ % KEYS;
+        }
+    }
+
+    @Benchmark
+    public Sessions.SessionData touchWithEviction(Cursor cursor) {
+        return sessions.touch(keys[cursor.next()], METADATA);
+    }
+
+    @Benchmark
+    public Sessions.SessionData touchHot() {
+        return sessions.touch("hot", METADATA);
+    }
+}
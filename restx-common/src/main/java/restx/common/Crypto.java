@@ -5,32 +5,125 @@ import com.google.common.io.BaseEncoding;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Cryptography utils
  */
 public class Crypto {
+    public static final String HMAC_SHA1 = "HmacSHA1";
+    public static final String HMAC_SHA256 = "HmacSHA256";
 
     /**
-     * Sign a message with a key
+     * Sign a message with a key, using HMAC-SHA1
      * @param message The message to sign
      * @param key The key to use
-     * @return The signed message (in hexadecimal)
+     * @return The signed message (in base64)
      */
     public static String sign(String message, byte[] key) {
+        return sign(message, key, HMAC_SHA1);
+    }
+
+    /**
+     * Sign a message with a key
+     * @param message The message to sign
+     * @param key The key to use
+     * @param algorithm The HMAC algorithm to use, eg HmacSHA1 or HmacSHA256
+     * @return The signed message (in base64)
+     */
+    public static String sign(String message, byte[] key, String algorithm) {
         if (key.length == 0) {
             return message;
         }
 
         try {
-            Mac mac = Mac.getInstance("HmacSHA1");
-            SecretKeySpec signingKey = new SecretKeySpec(key, "HmacSHA1");
-            mac.init(signingKey);
-            byte[] messageBytes = message.getBytes(Charsets.UTF_8);
-            byte[] result = mac.doFinal(messageBytes);
-            return BaseEncoding.base64().encode(result);
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            return BaseEncoding.base64().encode(mac.doFinal(message.getBytes(Charsets.UTF_8)));
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds a HMAC signer for a key, to use when many messages are signed with the same key.
+     *
+     * @param key The key to use
+     * @param algorithm The HMAC algorithm to use, eg HmacSHA1 or HmacSHA256
+     * @return a signer producing the same signatures as sign(message, key, algorithm)
+     */
+    public static Hmac hmac(byte[] key, String algorithm) {
+        return new Hmac(key, algorithm);
+    }
+
+    /**
+     * A thread safe HMAC signer for a given key.
+     *
+     * Initialised Mac instances are pooled and reused, instead of being looked up and initialised for each message.
+     * A pool is used rather than a thread local so that it works as well with virtual threads.
+     */
+    public static final class Hmac {
+        private final SecretKeySpec key;
+        private final String algorithm;
+        private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+        private Hmac(byte[] key, String algorithm) {
+            this.key = key.length == 0 ? null : new SecretKeySpec(key, algorithm);
+            this.algorithm = algorithm;
+            // fail fast if the algorithm is not supported
+            if (this.key != null) {
+                macs.add(newMac());
+            }
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * Sign a message
+         * @param message The message to sign
+         * @return The signed message (in base64)
+         */
+        public String sign(String message) {
+            if (key == null) {
+                return message;
+            }
+
+            Mac mac = macs.poll();
+            if (mac == null) {
+                mac = newMac();
+            }
+            try {
+                return BaseEncoding.base64().encode(mac.doFinal(message.getBytes(Charsets.UTF_8)));
+            } finally {
+                // doFinal resets the mac, it is ready for another message
+                macs.offer(mac);
+            }
+        }
+
+        /**
+         * Verify a message signature, in constant time.
+         * @param message The message to verify
+         * @param signature The signature to check
+         * @return true if the signature is the one of the message
+         */
+        public boolean verify(String message, String signature) {
+            return MessageDigest.isEqual(
+                    sign(message).getBytes(Charsets.UTF_8), signature.getBytes(Charsets.UTF_8));
+        }
+
+        private Mac newMac() {
+            try {
+                Mac mac = Mac.getInstance(algorithm);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package restx.common.metrics.api;
+
+/**
+ * A metric giving an instantaneous value, read each time the metric is reported.
+ */
+public interface Gauge<T> {
+
+    T getValue();
+
+}
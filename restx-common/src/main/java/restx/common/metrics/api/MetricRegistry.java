@@ -2,4 +2,12 @@ package restx.common.metrics.api;
 
 public interface MetricRegistry {
     Timer timer(String name);
+
+    /**
+     * Registers a gauge, replacing any gauge previously registered with the same name.
+     *
+     * Registries which don't support gauges ignore them, which is the default.
+     */
+    default <T> void gauge(String name, Gauge<T> gauge) {
+    }
 }
@@ -16,8 +16,10 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeMirror;
 import java.lang.reflect.*;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.ServiceLoader;
 
 /**
@@ -51,6 +53,36 @@ public class Types {
             public Type getOwnerType() {
                 return rawType.getEnclosingClass();
             }
+
+            /*
+             * equals and hashCode follow the JDK ParameterizedType contract, so that these types are equal to the ones
+             * obtained by reflection or built by guava TypeToken, and can be used as cache keys.
+             */
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (!(o instanceof ParameterizedType)) return false;
+
+                ParameterizedType that = (ParameterizedType) o;
+                return rawType.equals(that.getRawType())
+                        && Objects.equals(getOwnerType(), that.getOwnerType())
+                        && Arrays.equals(arguments, that.getActualTypeArguments());
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(arguments) ^ Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                StringBuilder sb = new StringBuilder(rawType.getName()).append('<');
+                for (int i = 0; i < arguments.length; i++) {
+                    sb.append(i == 0 ? "" : ", ").append(arguments[i].getTypeName());
+                }
+                return sb.append('>').toString();
+            }
         };
     }
 
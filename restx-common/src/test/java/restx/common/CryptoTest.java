@@ -20,4 +20,26 @@ public class CryptoTest {
                 .isEqualTo("yIDXrtZ71qCfHnUNvlYSS//0YPE=")
                 .isEqualTo(Crypto.sign("My message to sign", "my grain of salt".getBytes(Charsets.UTF_8.name())));
     }
+
+    @Test
+    public void testHmacSignsLikeSign() throws Exception {
+        byte[] key = "my grain of salt".getBytes(Charsets.UTF_8.name());
+        Crypto.Hmac hmac = Crypto.hmac(key, Crypto.HMAC_SHA1);
+
+        assertThat(hmac.sign("My message to sign")).isEqualTo("yIDXrtZ71qCfHnUNvlYSS//0YPE=");
+        assertThat(hmac.sign("My message to sign")).isEqualTo("yIDXrtZ71qCfHnUNvlYSS//0YPE=");
+        assertThat(Crypto.hmac(key, Crypto.HMAC_SHA256).sign("My message to sign"))
+                .isEqualTo(Crypto.sign("My message to sign", key, Crypto.HMAC_SHA256))
+                .isNotEqualTo("yIDXrtZ71qCfHnUNvlYSS//0YPE=");
+    }
+
+    @Test
+    public void testHmacVerify() throws Exception {
+        Crypto.Hmac hmac = Crypto.hmac("my grain of salt".getBytes(Charsets.UTF_8.name()), Crypto.HMAC_SHA256);
+        String signature = hmac.sign("My message to sign");
+
+        assertThat(hmac.verify("My message to sign", signature)).isTrue();
+        assertThat(hmac.verify("My message to sign!", signature)).isFalse();
+        assertThat(hmac.verify("My message to sign", signature.substring(1))).isFalse();
+    }
 }
@@ -50,6 +50,8 @@ import static restx.annotations.processor.TypeHelper.toTypeDescription;
 })
 @SupportedOptions({"debug"})
 public class RestxAnnotationProcessor extends RestxAbstractProcessor {
+    private static final ImmutableSet<String> ASYNC_RETURN_TYPES = ImmutableSet.of(
+            "java.util.concurrent.CompletableFuture", "java.util.concurrent.CompletionStage");
     private static final Pattern ROLE_PARAM_INTERPOLATOR_REGEX = Pattern.compile("\\{(.+?)\\}");
 
     final Template routerTpl;
@@ -107,12 +109,16 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
                     annotationDescriptionsBuilder.add(annotationDescription);
                 }
 
+                TypeMirror returnType = Types.primitiveTypeMirrorToBoxed(
+                        annotation.methodElem.getReturnType(), processingEnv);
+                Optional<TypeMirror> asyncResultType = asyncResultTypeOf(returnType);
                 ResourceMethod resourceMethod = new ResourceMethod(
                         resourceClass,
                         annotation.httpMethod,
                         r.value + annotation.path,
                         annotation.methodElem.getSimpleName().toString(),
-                        Types.primitiveTypeMirrorToBoxed(annotation.methodElem.getReturnType(), processingEnv),
+                        asyncResultType.or(returnType),
+                        asyncResultType.isPresent(),
                         annotation.methodElem.getThrownTypes(),
                         successStatus,
                         logLevel,
@@ -536,7 +542,18 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
                     Joiner.on(",\n                        ").join(callParameters) + "\n" +
                     "                    )";
 
-            if (resourceMethod.returnType.equalsIgnoreCase("void")) {
+            if (resourceMethod.async) {
+                // the result is mapped to an optional once completed
+                String result;
+                if (resourceMethod.returnType.equalsIgnoreCase("void")) {
+                    result = "Optional.of(Empty.EMPTY)";
+                } else if (resourceMethod.optionalReturnTypeMatcher.isOptionalType()) {
+                    result = resourceMethod.optionalReturnTypeMatcher.getCurrentOptionalExpressionToGuavaOptionalCodeExpressionTransformer().apply("value");
+                } else {
+                    result = "Optional.of(value)";
+                }
+                call = "return " + call + ".thenApply(value -> " + result + ");";
+            } else if (resourceMethod.returnType.equalsIgnoreCase("void")) {
                 call = call + ";\n" +
                         "                    return Optional.of(Empty.EMPTY);";
             } else {
@@ -556,10 +573,12 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
                     .put("method", resourceMethod.httpMethod)
                     .put("path", resourceMethod.path.replace("\\", "\\\\"))
                     .put("resource", resourceClass.name)
-                    .put("securityCheck", "securityManager.check(request, match, " + resourceMethod.permission + ");")
+                    .put("permission", resourceMethod.permission)
+                    .put("securityCheck", "securityManager.check(request, match, permission);")
                     .put("queryParametersDefinition", Joiner.on(",\n").join(queryParametersDefinition))
                     .put("throwsIOException", resourceMethod.throwsIOException())
                     .put("call", call)
+                    .put("async", resourceMethod.async)
                     .put("responseClass", toTypeDescription(resourceMethod.returnType))
                     .put("sourceLocation", resourceMethod.sourceLocation)
                     .put("parametersDescription", Joiner.on("\n").join(parametersDescription))
@@ -583,6 +602,22 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
         }
     }
 
+    /**
+     * Returns the type of the result of a resource method returning a CompletableFuture or a CompletionStage,
+     * such methods are routed asynchronously.
+     */
+    private Optional<TypeMirror> asyncResultTypeOf(TypeMirror returnType) {
+        if (returnType.getKind() != TypeKind.DECLARED) {
+            return Optional.absent();
+        }
+        DeclaredType declaredType = (DeclaredType) returnType;
+        String rawType = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        if (!ASYNC_RETURN_TYPES.contains(rawType) || declaredType.getTypeArguments().size() != 1) {
+            return Optional.absent();
+        }
+        return Optional.<TypeMirror>of(declaredType.getTypeArguments().get(0));
+    }
+
     private boolean isComplexType(TypeMirror typeMirror) {
         return !Types.optionalMatchingTypeOf(typeMirror, Collections.emptyList()).isOptionalType()
                 && !Types.isRawType(typeMirror, this.processingEnv)
@@ -812,7 +847,9 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
         final String name;
         final TypeMirror realReturnType;
         final OptionalTypeDefinition.Matcher optionalReturnTypeMatcher;
+        // for async methods, the type of the future result
         final String returnType;
+        final boolean async;
         final List<? extends TypeMirror> thrownTypes;
         final String id;
         final ImmutableList<String> pathParamNames;
@@ -831,6 +868,7 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
                        String path,
                        String name,
                        TypeMirror returnType,
+                       boolean async,
                        List<? extends TypeMirror> thrownTypes,
                        HttpStatus successStatus,
                        RestxLogLevel logLevel,
@@ -855,7 +893,10 @@ public class RestxAnnotationProcessor extends RestxAbstractProcessor {
                     .map(annotationDescription -> annotationDescription.annotationClass)
                     .toList();
             this.optionalReturnTypeMatcher = Types.optionalMatchingTypeOf(returnType, additionalAnnotationClasses);
-            this.returnType = this.optionalReturnTypeMatcher.getUnderlyingType();
+            this.async = async;
+            // a CompletableFuture<Void> is handled as a void method
+            this.returnType = async && Void.class.getName().equals(this.optionalReturnTypeMatcher.getUnderlyingType())
+                    ? "void" : this.optionalReturnTypeMatcher.getUnderlyingType();
 
             this.id = resourceClass.group.name + "#" + resourceClass.name + "#" + name;
             this.successStatus = successStatus;
@@ -8,6 +8,9 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -24,6 +27,75 @@ public abstract class AbstractRequest implements RestxRequest {
         this.httpSettings = httpSettings;
     }
 
+    /**
+     * Enforces the maximum request body size configured in http settings on the given content stream.
+     *
+     * Requests declaring a larger Content-Length are rejected before anything is read, other requests are
+     * rejected as soon as more bytes than allowed are read from the returned stream.
+     *
+     * @param contentStream the request body stream, as provided by the server
+     * @return a stream enforcing the max body size, or the given stream if there is no limit.
+     * @throws RequestBodyTooLargeException if the request Content-Length is larger than allowed
+     */
+    protected InputStream limitContentStream(InputStream contentStream) throws RequestBodyTooLargeException {
+        Optional<Long> maxSize = httpSettings.maxRequestBodySize();
+        if (!maxSize.isPresent()) {
+            return contentStream;
+        }
+        final long max = maxSize.get();
+        Optional<String> contentLength = getHeader("Content-Length");
+        if (contentLength.isPresent()) {
+            try {
+                if (Long.parseLong(contentLength.get().trim()) > max) {
+                    throw new RequestBodyTooLargeException(max);
+                }
+            } catch (NumberFormatException e) {
+                // invalid content length, we rely on the count of bytes read
+            }
+        }
+        return new FilterInputStream(contentStream) {
+            private long count;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    count(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    count(n);
+                }
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            }
+
+            @Override
+            public boolean markSupported() {
+                // marks would make us count bytes more than once
+                return false;
+            }
+
+            private void count(long n) throws RequestBodyTooLargeException {
+                count += n;
+                if (count > max) {
+                    throw new RequestBodyTooLargeException(max);
+                }
+            }
+        };
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("[RESTX REQUEST] ");
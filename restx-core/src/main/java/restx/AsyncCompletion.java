@@ -0,0 +1,121 @@
+package restx;
+
+import com.google.common.base.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Lets a route complete a request after RestxMainRouter.route() has returned.
+ *
+ * A route gets it with RestxContext.startAsync(), and calls complete() once it has written the response, or fail()
+ * if it can't. The main router then closes the response, logs the request and completes it at server level.
+ *
+ * This happens only once both the route has completed and the handlers chain has returned, whatever the order,
+ * so a route completing on another thread doesn't race with filters still unwinding on the request thread.
+ *
+ * If the server gives up waiting, on async timeout or connection error, the request fails as if the route had called
+ * fail(), and later calls of complete() or fail() by the route are ignored.
+ */
+public final class AsyncCompletion {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCompletion.class);
+
+    /**
+     * Called by the last of the route and the handlers chain to complete, implemented by the main router.
+     */
+    interface Listener {
+        void onComplete(Optional<Throwable> failure);
+    }
+
+    private final AsyncRestxRequest request;
+    private final Listener listener;
+    private final AtomicInteger pending = new AtomicInteger(2);
+    private final AtomicBoolean routeCompleted = new AtomicBoolean();
+    private final List<Runnable> doneCallbacks = new CopyOnWriteArrayList<>();
+    private volatile AsyncRestxRequest.Completion serverCompletion;
+    private volatile Throwable failure;
+
+    AsyncCompletion(AsyncRestxRequest request, Listener listener) {
+        this.request = checkNotNull(request);
+        this.listener = checkNotNull(listener);
+    }
+
+    boolean isStarted() {
+        return serverCompletion != null;
+    }
+
+    AsyncCompletion start() {
+        checkState(!isStarted(), "async processing already started for %s", request);
+        serverCompletion = request.startAsync(new AsyncRestxRequest.AbortListener() {
+            @Override
+            public void onAbort(Throwable cause) {
+                fail(cause);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Registers a callback to run once the request is done, after the response has been closed.
+     */
+    void whenDone(Runnable callback) {
+        doneCallbacks.add(callback);
+    }
+
+    /**
+     * To call once the response has been written.
+     */
+    public void complete() {
+        if (routeCompleted.compareAndSet(false, true)) {
+            done();
+        }
+    }
+
+    /**
+     * To call if the route failed, the main router writes the error response as it does for synchronous routes.
+     *
+     * @param failure the route failure
+     */
+    public void fail(Throwable failure) {
+        if (routeCompleted.compareAndSet(false, true)) {
+            this.failure = failure;
+            done();
+        }
+    }
+
+    /**
+     * Called by the main router once the handlers chain has returned.
+     *
+     * @param failure the exception raised by the handlers chain if any, only reported if the route doesn't fail.
+     */
+    void dispatched(Optional<Throwable> failure) {
+        if (failure.isPresent() && this.failure == null) {
+            this.failure = failure.get();
+        }
+        done();
+    }
+
+    private void done() {
+        if (pending.decrementAndGet() == 0) {
+            try {
+                listener.onComplete(Optional.fromNullable(failure));
+            } finally {
+                for (Runnable callback : doneCallbacks) {
+                    try {
+                        callback.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("error while running done callback of " + request + ": " + e.getMessage(), e);
+                    }
+                }
+                serverCompletion.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package restx;
+
+/**
+ * A request of a server able to complete the response after RestxMainRouter.route() has returned.
+ *
+ * Routes don't use this directly, they start async processing with RestxContext.startAsync().
+ */
+public interface AsyncRestxRequest extends RestxRequest {
+    /**
+     * @return true if this request can be processed asynchronously, servlets must be declared as async supported.
+     */
+    boolean isAsyncSupported();
+
+    /**
+     * Puts this request in async mode: the server won't complete the response when the main router returns.
+     *
+     * @param abortListener called if the server stops waiting for the completion, on async timeout or connection
+     *                      error. The response must not be written anymore once the listener has returned, and
+     *                      the completion is ignored.
+     * @return the completion to call once the response is closed.
+     */
+    Completion startAsync(AbortListener abortListener);
+
+    interface Completion {
+        void complete();
+    }
+
+    interface AbortListener {
+        void onAbort(Throwable cause);
+    }
+}
@@ -19,12 +19,29 @@ import java.io.IOException;
  * Moreover, this filter won't set the Cache-Control header if it's already set, so it doesn't prevent other more
  * specific caching strategies.
  *
+ * This filter is a static filter: on routes whose path pattern tells if cachedResources settings apply or not, it is
+ * not evaluated on each request.
+ *
  * Finally, it's also possible to disable this filter as any other Restx component, by setting
  * restx.activation::restx.GzipFilter::CacheFilter=false
  */
 @Component(priority = -100)
-public class CacheFilter implements RestxFilter {
+public class CacheFilter implements RestxStaticFilter {
     private final ImmutableList<String> paths;
+    private final RestxHandler handler = new RestxHandler() {
+        @Override
+        public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
+                throws IOException {
+            ctx.nextHandlerMatch().handle(req, resp, ctx.withListener(new AbstractRouteLifecycleListener() {
+                @Override
+                public void onBeforeWriteContent(RestxRequest req, RestxResponse resp) {
+                    if (!resp.getHeader("Cache-Control").isPresent()) {
+                        resp.setHeader("Cache-Control", "no-cache");
+                    }
+                }
+            }));
+        }
+    };
 
     public CacheFilter(AppSettings settings) {
         ImmutableList.Builder<String> builder = ImmutableList.builder();
@@ -42,21 +59,35 @@ public class CacheFilter implements RestxFilter {
             }
         }
 
-        return Optional.of(
-                new RestxHandlerMatch(new StdRestxRequestMatch("*", req.getRestxPath()),
-                new RestxHandler() {
-                    @Override
-                    public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
-                            throws IOException {
-                        ctx.nextHandlerMatch().handle(req, resp, ctx.withListener(new AbstractRouteLifecycleListener() {
-                            @Override
-                            public void onBeforeWriteContent(RestxRequest req, RestxResponse resp) {
-                                if (!resp.getHeader("Cache-Control").isPresent()) {
-                                    resp.setHeader("Cache-Control", "no-cache");
-                                }
-                            }
-                        }));
-                    }
-                }));
+        return Optional.of(new RestxHandlerMatch(new StdRestxRequestMatch("*", req.getRestxPath()), handler));
+    }
+
+    @Override
+    public boolean isStaticFor(RestxRoute route) {
+        Optional<StdRestxRequestMatcher> matcher = RouteDispatcher.indexableMatcher(route);
+        if (!matcher.isPresent()) {
+            return false;
+        }
+        String prefix = matcher.get().getLiteralPathPrefix();
+        for (String path : paths) {
+            if (!prefix.startsWith(path) && path.startsWith(prefix)) {
+                // some paths matched by the route may start with this cached path, some may not
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<RestxHandlerMatch> match(RestxRoute route) {
+        StdRestxRequestMatcher matcher = RouteDispatcher.indexableMatcher(route).get();
+        String prefix = matcher.getLiteralPathPrefix();
+        for (String path : paths) {
+            if (prefix.startsWith(path)) {
+                return Optional.absent();
+            }
+        }
+
+        return Optional.of(new RestxHandlerMatch(new StdRestxRequestMatch("*", matcher.getStdPathPattern()), handler));
     }
 }
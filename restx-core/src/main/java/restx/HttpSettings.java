@@ -25,4 +25,8 @@ public interface HttpSettings {
     @SettingsKey(key = "restx.http.decode.url.path.params", defaultValue = "true",
             doc="Will issue a URLDecoder.decode() on every PATH parameters if true")
     boolean decodeURLPathParams();
+
+    @SettingsKey(key = "restx.http.request.body.maxSize",
+            doc="The maximum size in bytes of request bodies, larger bodies are rejected with a 413 status. No limit if not set")
+    Optional<Long> maxRequestBodySize();
 }
@@ -44,4 +44,9 @@ public class HttpSettingsConfig implements HttpSettings {
     public boolean decodeURLPathParams() {
         return config.getBoolean("restx.http.decode.url.path.params").or(Boolean.TRUE).booleanValue();
     }
+
+    @Override
+    public Optional<Long> maxRequestBodySize() {
+        return config.getLong("restx.http.request.body.maxSize");
+    }
 }
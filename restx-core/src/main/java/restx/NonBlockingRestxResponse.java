@@ -0,0 +1,18 @@
+package restx;
+
+/**
+ * A response of a server able to send the response content without blocking the thread writing it.
+ *
+ * See the NonBlockingOutput annotation.
+ */
+public interface NonBlockingRestxResponse extends RestxResponse {
+    /**
+     * Enables non blocking output: the content written to this response is kept in memory, and sent once the
+     * response is closed without blocking the thread closing it.
+     *
+     * It must be called before the response content is written.
+     *
+     * @return true if non blocking output is enabled, false if it is not supported for this response.
+     */
+    boolean enableNonBlockingOutput();
+}
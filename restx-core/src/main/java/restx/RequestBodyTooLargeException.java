@@ -0,0 +1,28 @@
+package restx;
+
+import restx.http.HttpStatus;
+
+import java.io.IOException;
+
+/**
+ * Raised when reading a request body larger than the maximum size set in http settings.
+ *
+ * It is an IOException, so that body readers (such as jackson) report it as a read failure rather than as a
+ * content error. The main router looks for it in the causes of request failures and answers with a 413.
+ */
+public class RequestBodyTooLargeException extends IOException {
+    private final long maxSize;
+
+    public RequestBodyTooLargeException(long maxSize) {
+        super("request body is too large, maximum allowed size is " + maxSize + " bytes");
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public WebException toWebException() {
+        return new WebException(HttpStatus.REQUEST_ENTITY_TOO_LARGE, getMessage());
+    }
+}
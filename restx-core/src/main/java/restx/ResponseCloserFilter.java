@@ -12,6 +12,9 @@ import java.io.IOException;
  *
  * It doesn't close the response if an exception occur, because exception handling in higher order filters
  * may want to write to response, and RESTX main router does also.
+ *
+ * Nor does it close it when the route has started async processing, the main router closes it once the route
+ * completes.
  */
 @Component(priority = 10000)
 public class ResponseCloserFilter implements RestxRouteFilter, RestxHandler {
@@ -26,6 +29,10 @@ public class ResponseCloserFilter implements RestxRouteFilter, RestxHandler {
     public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
             throws IOException {
         ctx.nextHandlerMatch().handle(req, resp, ctx);
+        if (ctx.isAsyncStarted()) {
+            // the route completes later, the main router closes the response at that time
+            return;
+        }
         try {
             resp.close();
         } catch (Exception e) {
@@ -22,22 +22,34 @@ public class RestxContext {
     private final RouteLifecycleListener lifecycleListener;
     private final ImmutableList<RestxHandlerMatch> matches;
     private final UnmodifiableIterator<RestxHandlerMatch> matchesIterator;
+    // null when the server doesn't support async processing
+    private final AsyncCompletion async;
 
 
     public RestxContext(String mode, RouteLifecycleListener lifecycleListener,
                         ImmutableList<RestxHandlerMatch> matches) {
-        this.mode = mode;
-        this.lifecycleListener = lifecycleListener;
-        this.matches = matches;
-        this.matchesIterator = matches.iterator();
+        this(mode, lifecycleListener, matches, matches.iterator());
     }
 
     public RestxContext(String mode, RouteLifecycleListener lifecycleListener, ImmutableList<RestxHandlerMatch> matches,
                         UnmodifiableIterator<RestxHandlerMatch> matchesIterator) {
+        this(mode, lifecycleListener, matches, matchesIterator, null);
+    }
+
+    RestxContext(String mode, RouteLifecycleListener lifecycleListener, ImmutableList<RestxHandlerMatch> matches,
+                 AsyncCompletion async) {
+        this(mode, lifecycleListener, matches, matches.iterator(), async);
+    }
+
+    private RestxContext(String mode, RouteLifecycleListener lifecycleListener,
+                         ImmutableList<RestxHandlerMatch> matches,
+                         UnmodifiableIterator<RestxHandlerMatch> matchesIterator,
+                         AsyncCompletion async) {
         this.mode = mode;
         this.lifecycleListener = lifecycleListener;
         this.matches = matches;
         this.matchesIterator = matchesIterator;
+        this.async = async;
     }
 
     public String getMode() {
@@ -59,6 +71,51 @@ public class RestxContext {
                 "list of handler matches: " + matches);
     }
 
+    /**
+     * @return true if the route can complete the request after the handlers chain has returned.
+     */
+    public boolean isAsyncSupported() {
+        return async != null;
+    }
+
+    /**
+     * @return true if async processing has been started for this request.
+     */
+    public boolean isAsyncStarted() {
+        return async != null && async.isStarted();
+    }
+
+    /**
+     * Runs the given callback once the request is done: right away if async processing has not been started, once
+     * the route has completed and the response is closed otherwise.
+     *
+     * Filters looking at the response, like its status, should use it after calling the next handler, as async
+     * routes write their response after the handlers chain has returned.
+     *
+     * @param callback the callback to run
+     */
+    public void whenDone(Runnable callback) {
+        if (isAsyncStarted()) {
+            async.whenDone(callback);
+        } else {
+            callback.run();
+        }
+    }
+
+    /**
+     * Starts async processing: the response is neither closed nor completed when the handlers chain returns, but
+     * when the route calls complete() or fail() on the returned completion.
+     *
+     * @return the completion to call once the response is written.
+     * @throws IllegalStateException if async processing is not supported, or already started.
+     */
+    public AsyncCompletion startAsync() {
+        if (async == null) {
+            throw new IllegalStateException("async processing is not supported for this request");
+        }
+        return async.start();
+    }
+
     public RestxContext withListener(final RouteLifecycleListener listener) {
         return new RestxContext(mode, new RouteLifecycleListener() {
             @Override
@@ -90,7 +147,7 @@ public class RestxContext {
                 lifecycleListener.onEntityOutput(route, req, resp, input, output);
                 listener.onEntityOutput(route, req, resp, input, output);
             }
-        }, matches, matchesIterator);
+        }, matches, matchesIterator, async);
     }
 
 }
@@ -230,7 +230,9 @@ public class RestxMainRouterFactory {
                 } else {
                     logger.debug("{} - per request factory created in {}", restxRequest, stopwatch);
                 }
-                stdRestxMainRouter.route(restxRequest, restxResponse);
+                // the factory is closed, and the hot reload classloader restored, as soon as this method returns:
+                // the response must not be completed later, so the async support of the request is hidden
+                stdRestxMainRouter.route(new RestxRequestWrapper(restxRequest), restxResponse);
             } catch (Factory.UnsatisfiedDependenciesException ex) {
                 if (restxRequest.getHeader("RestxDebug").isPresent()) {
                     logger.error("{} - Exception when using factory to load router: {}\n{}",
@@ -543,10 +545,14 @@ public class RestxMainRouterFactory {
     }
 
     private static Factory.Builder newFactoryBuilder() {
-        return Factory.builder()
-                    .addFromServiceLoader()
-                    .addLocalMachines(Factory.LocalMachines.threadLocal())
-                ;
+        Factory.Builder builder = Factory.builder().addFromServiceLoader();
+        // factories may be built on request threads, which may be short lived virtual threads:
+        // we don't register a LocalMachines for them if nothing has been set up on it
+        Optional<Factory.LocalMachines> threadLocalMachines = Factory.LocalMachines.threadLocalIfPresent();
+        if (threadLocalMachines.isPresent()) {
+            builder.addLocalMachines(threadLocalMachines.get());
+        }
+        return builder;
     }
 
     private StdRestxMainRouter newStdRouter(Factory factory) {
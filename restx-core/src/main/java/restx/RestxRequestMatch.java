@@ -1,5 +1,6 @@
 package restx;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 
 import java.io.IOException;
@@ -30,6 +31,20 @@ public interface RestxRequestMatch {
      *
      */
     String getPathParam(String paramName);
+
+    /**
+     * Returns the value of a given path parameter in this match, if present.
+     *
+     * Contrary to getPathParams(), implementations may look up the parameter without building the map of all
+     * path parameters.
+     *
+     * @param paramName the name of the path parameter to return
+     * @return the path param value, absent if the path param is not defined.
+     */
+    default Optional<String> findPathParam(String paramName) {
+        return Optional.fromNullable(getPathParams().get(paramName));
+    }
+
     ImmutableMap<String, String> getPathParams();
 
     ImmutableMap<String, ? extends Object> getOtherParams();
@@ -14,6 +14,7 @@ import restx.factory.Factory;
 import restx.factory.NamedComponent;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -29,6 +30,8 @@ public class RestxRouting {
     private final ImmutableList<NamedComponent<RestxFilter>> filters;
     private final ImmutableMultimap<RestxRoute, NamedComponent<RestxHandlerMatch>> routeFilters;
     private final ImmutableList<RestxRoute> routes;
+    private final ImmutableList<FilterChain> filterChains;
+    private final RouteDispatcher dispatcher;
 
     public RestxRouting(ImmutableList<NamedComponent<RestxFilter>> filters,
                         ImmutableList<NamedComponent<RestxRouteFilter>> routeFilters,
@@ -48,6 +51,13 @@ public class RestxRouting {
         }
         this.routeFilters = builder.build();
         this.routes = routes;
+
+        ImmutableList.Builder<FilterChain> filterChains = ImmutableList.builder();
+        for (RestxRoute route : routes) {
+            filterChains.add(FilterChain.of(route, this.routeFilters.get(route), filters));
+        }
+        this.filterChains = filterChains.build();
+        this.dispatcher = new RouteDispatcher(routes);
     }
 
     public ImmutableList<RestxFilter> getFilters() {
@@ -63,52 +73,108 @@ public class RestxRouting {
         return routes;
     }
 
+    /**
+     * Finds the http methods accepted for a restx path, when it is not matched with the request method.
+     *
+     * Only routes declared with a standard path pattern are considered.
+     *
+     * @param restxPath the restx path to check
+     * @return the list of methods accepted for this path, as an Allow header value, or absent if no route matches it.
+     */
+    public Optional<String> getAllowedMethods(String restxPath) {
+        return dispatcher.allowedMethods(restxPath);
+    }
+
     public Optional<Match> match(RestxRequest restxRequest) {
-        for (RestxRoute route : routes) {
+        // only routes which may match the request are probed, in declaration order
+        BitSet candidates = dispatcher.candidates(restxRequest.getHttpMethod(), restxRequest.getRestxPath());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            RestxRoute route = routes.get(i);
             Optional<? extends RestxHandlerMatch> match = route.match(restxRequest);
             if (match.isPresent()) {
-                // here we need to:
-                // - check which filters apply
-                // - order all filters (route filters and regular filters) by priority
-                // so we put all matches as NamedComponents (to preserve the filter priority) in a list,
-                // and finally sort the list by priority before returning it as a Match
-                ImmutableCollection<NamedComponent<RestxHandlerMatch>> routeFilters = this.routeFilters.get(route);
-
-                List<NamedComponent<RestxHandlerMatch>> matches = Lists.newArrayListWithCapacity(
-                        filters.size() + routeFilters.size() + 1);
-                matches.addAll(routeFilters);
-
-                for (NamedComponent<RestxFilter> filter : filters) {
-                    Optional<? extends RestxHandlerMatch> filterMatch = filter.getComponent().match(restxRequest);
+                return Optional.of(new Match(route, filterChains.get(i).matches(restxRequest, match.get()), match));
+            }
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * The filters to apply to the requests matched by a route, ordered by priority.
+     *
+     * The order is computed once when wiring the routing: it only depends on filters names and priorities.
+     * Route filters and static filters are even resolved at that time, so only dynamic filters need to be
+     * evaluated on each request, and no sort is needed per request.
+     */
+    private static final class FilterChain {
+        static FilterChain of(RestxRoute route,
+                              ImmutableCollection<NamedComponent<RestxHandlerMatch>> routeFilters,
+                              ImmutableList<NamedComponent<RestxFilter>> filters) {
+            // we put all resolved matches and dynamic filters as NamedComponents (to preserve the filter priority)
+            // in a list, and sort the list by priority
+            List<NamedComponent<?>> chain = Lists.newArrayListWithCapacity(routeFilters.size() + filters.size());
+            chain.addAll(routeFilters);
+            for (NamedComponent<RestxFilter> filter : filters) {
+                if (filter.getComponent() instanceof RestxStaticFilter
+                        && ((RestxStaticFilter) filter.getComponent()).isStaticFor(route)) {
+                    Optional<RestxHandlerMatch> filterMatch = ((RestxStaticFilter) filter.getComponent()).match(route);
                     if (filterMatch.isPresent()) {
-                        matches.add(NamedComponent.of(
+                        chain.add(NamedComponent.of(
                                 RestxHandlerMatch.class, filter.getName().getName(),
                                 filter.getPriority(), filterMatch.get()));
                     }
+                } else {
+                    chain.add(filter);
                 }
+            }
+            chain = Ordering.from(Factory.NAMED_COMPONENT_COMPARATOR).sortedCopy(chain);
 
-                return Optional.of(new Match(
-                        ImmutableList.<RestxHandlerMatch>builder()
-                                .addAll(
-                                        transform(Ordering.from(Factory.NAMED_COMPONENT_COMPARATOR).sortedCopy(matches),
-                                                NamedComponent.<RestxHandlerMatch>toComponent()))
-                                .add(match.get())
-                                .build(),
-                        match));
+            Object[] handlers = new Object[chain.size()];
+            for (int i = 0; i < handlers.length; i++) {
+                handlers[i] = chain.get(i).getComponent();
             }
+            return new FilterChain(handlers);
+        }
+
+        // either resolved RestxHandlerMatch, or RestxFilter to evaluate on each request
+        private final Object[] handlers;
+
+        private FilterChain(Object[] handlers) {
+            this.handlers = handlers;
+        }
+
+        ImmutableList<RestxHandlerMatch> matches(RestxRequest restxRequest, RestxHandlerMatch routeMatch) {
+            ImmutableList.Builder<RestxHandlerMatch> matches = ImmutableList.builderWithExpectedSize(
+                    handlers.length + 1);
+            for (Object handler : handlers) {
+                if (handler instanceof RestxHandlerMatch) {
+                    matches.add((RestxHandlerMatch) handler);
+                } else {
+                    Optional<RestxHandlerMatch> filterMatch = ((RestxFilter) handler).match(restxRequest);
+                    if (filterMatch.isPresent()) {
+                        matches.add(filterMatch.get());
+                    }
+                }
+            }
+            return matches.add(routeMatch).build();
         }
-        return Optional.absent();
     }
 
     public static class Match {
+        private final RestxRoute route;
         private final ImmutableList<RestxHandlerMatch> matches;
         private final Optional<? extends RestxHandlerMatch> match;
 
-        private Match(ImmutableList<RestxHandlerMatch> matches, Optional<? extends RestxHandlerMatch> match) {
+        private Match(RestxRoute route,
+                      ImmutableList<RestxHandlerMatch> matches, Optional<? extends RestxHandlerMatch> match) {
+            this.route = route;
             this.matches = matches;
             this.match = match;
         }
 
+        public RestxRoute getRoute() {
+            return route;
+        }
+
         public ImmutableList<RestxHandlerMatch> getMatches() {
             return matches;
         }
@@ -120,7 +186,8 @@ public class RestxRouting {
         @Override
         public String toString() {
             return "Match{" +
-                    "matches=" + matches +
+                    "route=" + route +
+                    ", matches=" + matches +
                     ", match=" + match +
                     '}';
         }
@@ -0,0 +1,31 @@
+package restx;
+
+import com.google.common.base.Optional;
+
+/**
+ * A filter which can determine if it must be applied or not at the route level, for some routes at least.
+ *
+ * Contrary to RestxRouteFilter, a static filter still matches requests like any RestxFilter, but when wiring the
+ * routing it is asked for each route if its decision only depends on the route (for instance if it applies to all
+ * requests, or to a static set of paths). For such routes the filter match is resolved once, and the filter is not
+ * evaluated anymore on each request, which in PROD mode means only once at startup time.
+ */
+public interface RestxStaticFilter extends RestxFilter {
+    /**
+     * Tells if the match of this filter for any request matched by the given route can be determined from the route
+     * only.
+     *
+     * @param route the route to check.
+     * @return true if match(RestxRoute) can be used instead of match(RestxRequest) for requests matched by this route.
+     */
+    boolean isStaticFor(RestxRoute route);
+
+    /**
+     * Matches this filter against a route, only called when isStaticFor(route) returned true.
+     *
+     * @param route the route to match.
+     * @return the handler match to use for all requests matched by this route, or absent if this filter should not
+     * be applied on this route.
+     */
+    Optional<RestxHandlerMatch> match(RestxRoute route);
+}
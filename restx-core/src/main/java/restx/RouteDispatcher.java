@@ -0,0 +1,206 @@
+package restx;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes routes by http method and path segments, so that matching a request only probes the routes which may
+ * actually match it, instead of every declared route.
+ *
+ * Routes relying on a StdRestxRequestMatcher are compiled into a segment trie per http method:
+ * <ul>
+ *     <li>literal segments are looked up by exact value</li>
+ *     <li>default path params (<code>{name}</code> or <code>:name</code>) match any non empty segment</li>
+ *     <li>
+ *         as soon as a segment uses a custom regex, mixes params and literals, or contains regex meta characters,
+ *         the route is registered as a candidate at that node and left to its own regex for verification
+ *     </li>
+ * </ul>
+ *
+ * Other routes (such as ResourcesRoute, or routes overriding match()) can't be indexed and are always probed.
+ *
+ * The dispatcher only computes candidates, routes are still probed with their own match() method, in declaration
+ * order, so the first declared route matching a request wins, as with a plain linear scan.
+ */
+final class RouteDispatcher {
+    private final ImmutableMap<String, Node> trees;
+    private final BitSet alwaysProbed;
+    private final StdRestxRequestMatcher[] matchers;
+    // methods of indexed routes, sorted, and Allow header values for each subset of them (indexed by bit mask)
+    private final String[] methods;
+    private final String[] allowHeaders;
+
+    RouteDispatcher(ImmutableList<RestxRoute> routes) {
+        Map<String, Node> trees = new HashMap<>();
+        BitSet alwaysProbed = new BitSet(routes.size());
+        this.matchers = new StdRestxRequestMatcher[routes.size()];
+
+        for (int i = 0; i < routes.size(); i++) {
+            Optional<StdRestxRequestMatcher> matcher = indexableMatcher(routes.get(i));
+            if (!matcher.isPresent()) {
+                alwaysProbed.set(i);
+                continue;
+            }
+            matchers[i] = matcher.get();
+
+            Node tree = trees.get(matcher.get().getMethod());
+            if (tree == null) {
+                trees.put(matcher.get().getMethod(), tree = new Node());
+            }
+            tree.add(matcher.get().getPathPattern(), 0, i);
+        }
+
+        this.trees = ImmutableMap.copyOf(trees);
+        this.alwaysProbed = alwaysProbed;
+
+        this.methods = Ordering.natural().sortedCopy(trees.keySet()).toArray(new String[0]);
+        if (methods.length <= MAX_PRECOMPUTED_METHODS) {
+            this.allowHeaders = new String[1 << methods.length];
+            for (int mask = 1; mask < allowHeaders.length; mask++) {
+                allowHeaders[mask] = allowHeader(mask);
+            }
+        } else {
+            this.allowHeaders = null;
+        }
+    }
+
+    private static final int MAX_PRECOMPUTED_METHODS = 8;
+
+    /**
+     * Computes the indexes of the routes which have to be probed for the given request, in declaration order.
+     *
+     * @param method the request http method
+     * @param path the request restx path
+     * @return the indexes of the candidate routes, in the list of routes this dispatcher was built with.
+     */
+    BitSet candidates(String method, String path) {
+        BitSet candidates = (BitSet) alwaysProbed.clone();
+        Node tree = trees.get(method);
+        if (tree != null) {
+            tree.collect(path, 0, candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds the http methods for which an indexed route matches the given path.
+     *
+     * Routes which are not indexed are not considered, we can't tell which methods they accept.
+     *
+     * @param path the request restx path
+     * @return the value of the Allow header listing the methods, or absent if no indexed route matches the path.
+     */
+    Optional<String> allowedMethods(String path) {
+        long mask = 0;
+        for (int m = 0; m < methods.length; m++) {
+            BitSet candidates = new BitSet();
+            trees.get(methods[m]).collect(path, 0, candidates);
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (matchers[i].match(methods[m], path).isPresent()) {
+                    mask |= 1L << m;
+                    break;
+                }
+            }
+        }
+        if (mask == 0) {
+            return Optional.absent();
+        }
+        return Optional.of(allowHeaders == null ? allowHeader(mask) : allowHeaders[(int) mask]);
+    }
+
+    private String allowHeader(long mask) {
+        StringBuilder sb = new StringBuilder();
+        for (int m = 0; m < methods.length; m++) {
+            if ((mask & (1L << m)) != 0) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(methods[m]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the StdRestxRequestMatcher of a route, if the route matches requests with this matcher only.
+     */
+    static Optional<StdRestxRequestMatcher> indexableMatcher(RestxRoute route) {
+        if (!(route instanceof StdRoute)) {
+            return Optional.absent();
+        }
+        RestxRequestMatcher matcher = ((StdRoute) route).getMatcher();
+        if (matcher.getClass() != StdRestxRequestMatcher.class) {
+            return Optional.absent();
+        }
+        try {
+            if (route.getClass().getMethod("match", RestxRequest.class).getDeclaringClass() != StdRoute.class) {
+                // route has its own matching logic, it can't be indexed on its path pattern only
+                return Optional.absent();
+            }
+        } catch (NoSuchMethodException e) {
+            return Optional.absent();
+        }
+        return Optional.of((StdRestxRequestMatcher) matcher);
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node param;
+        // routes whose pattern ends on this node
+        private final BitSet terminals = new BitSet();
+        // routes whose pattern can't be indexed further than this node, they need to be verified with their regex
+        private final BitSet partials = new BitSet();
+
+        void add(String pattern, int from, int route) {
+            if (from > pattern.length()) {
+                terminals.set(route);
+                return;
+            }
+            int end = segmentEnd(pattern, from);
+            String segment = pattern.substring(from, end);
+            if (StdRestxRequestMatcher.isDefaultPathParamSegment(segment)) {
+                if (param == null) {
+                    param = new Node();
+                }
+                param.add(pattern, end + 1, route);
+            } else if (StdRestxRequestMatcher.isLiteralSegment(segment)) {
+                Node child = literals.get(segment);
+                if (child == null) {
+                    literals.put(segment, child = new Node());
+                }
+                child.add(pattern, end + 1, route);
+            } else {
+                partials.set(route);
+            }
+        }
+
+        void collect(String path, int from, BitSet candidates) {
+            candidates.or(partials);
+            if (from > path.length()) {
+                candidates.or(terminals);
+                return;
+            }
+            int end = segmentEnd(path, from);
+            if (!literals.isEmpty()) {
+                Node child = literals.get(path.substring(from, end));
+                if (child != null) {
+                    child.collect(path, end + 1, candidates);
+                }
+            }
+            if (param != null && end > from) {
+                param.collect(path, end + 1, candidates);
+            }
+        }
+
+        private static int segmentEnd(String s, int from) {
+            int end = s.indexOf('/', from);
+            return end == -1 ? s.length() : end;
+        }
+    }
+}
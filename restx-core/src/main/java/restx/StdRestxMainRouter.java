@@ -3,7 +3,11 @@ package restx;
 import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.*;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.io.CharStreams;
 import org.slf4j.Logger;
@@ -11,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import restx.common.metrics.api.MetricRegistry;
 import restx.common.metrics.api.Monitor;
+import restx.common.metrics.api.Timer;
 import restx.common.metrics.dummy.DummyMetricRegistry;
 import restx.exceptions.RestxError;
 import restx.exceptions.WrappedCheckedException;
@@ -94,10 +99,16 @@ public class StdRestxMainRouter implements RestxMainRouter {
     }
 
     private static final Logger logger = LoggerFactory.getLogger(StdRestxMainRouter.class);
+    private static final String NOT_FOUND_BODY = "no restx route found";
+    private static final String METHOD_NOT_ALLOWED_BODY = "method not allowed";
 
     private final RestxRouting routing;
     private final String mode;
     private final MetricRegistry metrics;
+    private final Timer unmatchedTimer;
+    private final LoadingCache<RestxRoute, Timer> routeTimers;
+    private final Supplier<String> routesListing;
+    private final boolean hasApiDocs;
 
     public StdRestxMainRouter(RestxRouting routing) {
         this(routing, RestxContext.Modes.PROD);
@@ -111,6 +122,21 @@ public class StdRestxMainRouter implements RestxMainRouter {
         this.metrics = checkNotNull(metrics);
         this.routing = checkNotNull(routing);
         this.mode = checkNotNull(mode);
+        // requests are timed per route rather than per path, to keep the number of timers bounded
+        this.unmatchedTimer = metrics.timer("<HTTP> <unmatched>");
+        this.routeTimers = CacheBuilder.newBuilder().build(new CacheLoader<RestxRoute, Timer>() {
+            @Override
+            public Timer load(RestxRoute route) {
+                return StdRestxMainRouter.this.metrics.timer("<HTTP> " + getTimerName(route));
+            }
+        });
+        this.hasApiDocs = hasApiDocs(routing);
+        this.routesListing = Suppliers.memoize(new Supplier<String>() {
+            @Override
+            public String get() {
+                return buildRoutesListing();
+            }
+        });
     }
 
     @Override
@@ -118,40 +144,88 @@ public class StdRestxMainRouter implements RestxMainRouter {
         logger.debug("<< {}", restxRequest);
         Stopwatch stopwatch = Stopwatch.createStarted();
 
-        Monitor monitor = metrics.timer("<HTTP> " + restxRequest.getHttpMethod() + " " + restxRequest.getRestxPath()).time();
+        Monitor monitor = null;
+        AsyncCompletion async = null;
+        Throwable asyncFailure = null;
         try {
             Optional<RestxRouting.Match> m = routing.match(restxRequest);
+            monitor = (m.isPresent() ? routeTimers.getUnchecked(m.get().getRoute()) : unmatchedTimer).time();
 
             if (!m.isPresent()) {
                 // no route matched
-                String path = restxRequest.getRestxPath();
-                StringBuilder sb = new StringBuilder()
-                        .append("no restx route found for ")
-                        .append(restxRequest.getHttpMethod()).append(" ").append(path).append("\n");
-                if (hasApiDocs()) {
-                    sb.append("go to ").append(restxRequest.getBaseUri()).append("/@/ui/api-docs/")
-                            .append(" for API documentation\n\n");
-                }
-                sb.append("routes:\n")
-                        .append("-----------------------------------\n");
-                for (RestxRoute route : routing.getRoutes()) {
-                    sb.append(route).append("\n");
-                }
-                sb.append("-----------------------------------");
-                restxResponse.setStatus(HttpStatus.NOT_FOUND);
-                restxResponse.setContentType("text/plain");
-                PrintWriter out = restxResponse.getWriter();
-                out.print(sb.toString());
+                notFound(restxRequest, restxResponse);
             } else {
                 MDC.put("restx.path", restxRequest.getRestxPath());
                 MDC.put("restx.method", restxRequest.getHttpMethod());
 
                 logger.debug("<< {}\nHANDLERS: {}", restxRequest, m.get().getMatches());
+                async = asyncCompletion(restxRequest, restxResponse, monitor, stopwatch);
                 RestxContext context = new RestxContext(getMode(), new AbstractRouteLifecycleListener() {},
-                        ImmutableList.copyOf(m.get().getMatches()));
+                        ImmutableList.copyOf(m.get().getMatches()), async);
                 RestxHandlerMatch match = context.nextHandlerMatch();
                 match.handle(restxRequest, restxResponse, context);
             }
+        } catch (Throwable ex) {
+            if (async != null && async.isStarted()) {
+                // the error is written once the route completes, it may be writing the response right now
+                asyncFailure = ex;
+            } else {
+                handleException(ex, restxRequest, restxResponse);
+            }
+        } finally {
+            if (async != null && async.isStarted()) {
+                MDC.clear();
+                async.dispatched(Optional.fromNullable(asyncFailure));
+            } else {
+                finish(restxRequest, restxResponse, monitor, stopwatch);
+            }
+        }
+    }
+
+    private AsyncCompletion asyncCompletion(final RestxRequest restxRequest, final RestxResponse restxResponse,
+                                            final Monitor monitor, final Stopwatch stopwatch) {
+        if (!(restxRequest instanceof AsyncRestxRequest) || !((AsyncRestxRequest) restxRequest).isAsyncSupported()) {
+            return null;
+        }
+        return new AsyncCompletion((AsyncRestxRequest) restxRequest, new AsyncCompletion.Listener() {
+            @Override
+            public void onComplete(Optional<Throwable> failure) {
+                MDC.put("restx.path", restxRequest.getRestxPath());
+                MDC.put("restx.method", restxRequest.getHttpMethod());
+                try {
+                    if (failure.isPresent()) {
+                        handleException(failure.get(), restxRequest, restxResponse);
+                    }
+                } catch (IOException e) {
+                    logger.warn("io exception raised when writing error response of " + restxRequest, e);
+                } finally {
+                    finish(restxRequest, restxResponse, monitor, stopwatch);
+                }
+            }
+        });
+    }
+
+    private void finish(RestxRequest restxRequest, RestxResponse restxResponse, Monitor monitor, Stopwatch stopwatch) {
+        try { restxRequest.closeContentStream(); } catch (Exception ex) { }
+        try { restxResponse.close(); } catch (Exception ex) { }
+        if (monitor != null) {
+            monitor.stop();
+        }
+        stopwatch.stop();
+        restxResponse.getLogLevel().log(logger, restxRequest, restxResponse, stopwatch);
+        MDC.clear();
+    }
+
+    private void handleException(Throwable failure, RestxRequest restxRequest, RestxResponse restxResponse)
+            throws IOException {
+        // body readers may wrap it, jackson does so when the limit is reached while deserializing a bean
+        RequestBodyTooLargeException tooLarge = Iterables.getFirst(
+                Iterables.filter(Throwables.getCausalChain(failure), RequestBodyTooLargeException.class), null);
+        if (tooLarge != null) {
+            failure = tooLarge.toWebException();
+        }
+        try {
+            throw failure;
         } catch (JsonProcessingException ex) {
             logger.warn("request raised " + ex.getClass().getSimpleName(), ex);
             restxResponse.setStatus(HttpStatus.BAD_REQUEST);
@@ -204,6 +278,10 @@ public class StdRestxMainRouter implements RestxMainRouter {
                     logger.warn("io exception raised when trying to provide original input to caller", e);
                     out.println(ex.getMessage());
                 }
+            } else {
+                // body was not spooled (PROD mode), we can't show it back to the caller
+                out.println(CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, ex.getClass().getSimpleName()) + "." +
+                        " Please verify your input: " + ex.getOriginalMessage());
             }
         } catch (RestxError.RestxException ex) {
             logger.debug("request raised RestxException", ex);
@@ -235,21 +313,72 @@ public class StdRestxMainRouter implements RestxMainRouter {
             PrintWriter out = restxResponse.getWriter();
             out.println("UNEXPECTED SERVER ERROR:");
             out.print(ex.getMessage());
-        } finally {
-            try { restxRequest.closeContentStream(); } catch (Exception ex) { }
-            try { restxResponse.close(); } catch (Exception ex) { }
-            monitor.stop();
-            stopwatch.stop();
-            restxResponse.getLogLevel().log(logger, restxRequest, restxResponse, stopwatch);
-            MDC.clear();
         }
     }
 
+    /**
+     * Answers a request which matched no route.
+     *
+     * When the path matches indexed routes for other http methods, the answer is a 405 with an Allow header listing
+     * them. HEAD requests are not mapped onto GET routes: a HEAD on a path only served by GET gets a 405 with
+     * "Allow: GET", declare a HEAD route to serve it.
+     *
+     * The listing of the routes is only sent in DEV mode, other modes get a small constant body.
+     */
+    private void notFound(RestxRequest restxRequest, RestxResponse restxResponse) throws IOException {
+        Optional<String> allowedMethods = routing.getAllowedMethods(restxRequest.getRestxPath());
+        if (allowedMethods.isPresent()) {
+            restxResponse.setStatus(HttpStatus.METHOD_NOT_ALLOWED);
+            restxResponse.setHeader("Allow", allowedMethods.get());
+        } else {
+            restxResponse.setStatus(HttpStatus.NOT_FOUND);
+        }
+        restxResponse.setContentType("text/plain");
+        PrintWriter out = restxResponse.getWriter();
+
+        if (!RestxContext.Modes.DEV.equals(getMode())) {
+            // we give details on routes only in dev, and keep the response as cheap as possible
+            out.print(allowedMethods.isPresent() ? METHOD_NOT_ALLOWED_BODY : NOT_FOUND_BODY);
+            return;
+        }
+
+        out.append("no restx route found for ")
+                .append(restxRequest.getHttpMethod()).append(" ").append(restxRequest.getRestxPath()).append("\n");
+        if (allowedMethods.isPresent()) {
+            out.append("allowed methods for this path: ").append(allowedMethods.get()).append("\n");
+        }
+        if (hasApiDocs) {
+            out.append("go to ").append(restxRequest.getBaseUri()).append("/@/ui/api-docs/")
+                    .append(" for API documentation\n\n");
+        }
+        out.print(routesListing.get());
+    }
+
+    private String buildRoutesListing() {
+        StringBuilder sb = new StringBuilder()
+                .append("routes:\n")
+                .append("-----------------------------------\n");
+        for (RestxRoute route : routing.getRoutes()) {
+            sb.append(route).append("\n");
+        }
+        sb.append("-----------------------------------");
+        return sb.toString();
+    }
+
     String getMode() {
         return mode;
     }
 
-    private boolean hasApiDocs() {
+    private static String getTimerName(RestxRoute route) {
+        if (route instanceof StdRoute && ((StdRoute) route).getMatcher() instanceof StdRestxRequestMatcher) {
+            StdRestxRequestMatcher stdMatcher = (StdRestxRequestMatcher) ((StdRoute) route).getMatcher();
+            return stdMatcher.getMethod() + " " + stdMatcher.getStdPathPattern();
+        }
+        // we can't use route toString(), it may be very verbose
+        return "<" + route.getClass().getName() + ">";
+    }
+
+    private static boolean hasApiDocs(RestxRouting routing) {
         for (RestxRoute route : routing.getRoutes()) {
             // maybe we should find a more pluggable way to detect this feature..
             // we don't use the class itself, we don't want to have a strong dependency on swagger route
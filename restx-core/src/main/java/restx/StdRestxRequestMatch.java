@@ -1,5 +1,7 @@
 package restx;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import java.io.IOException;
@@ -14,9 +16,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class StdRestxRequestMatch implements RestxRequestMatch {
     private final String pattern;
     private final String path;
-    private final ImmutableMap<String, String> pathParams;
     private final ImmutableMap<String, ? extends Object> otherParams;
 
+    // path params are either given as a map, or as names and [start, end) offsets in path, materialized on demand
+    private ImmutableMap<String, String> pathParams;
+    private final ImmutableList<String> pathParamNames;
+    private final int[] pathParamOffsets;
+
     public StdRestxRequestMatch(String path) {
         this(path, path, ImmutableMap.<String,String>of());
     }
@@ -36,6 +42,20 @@ public class StdRestxRequestMatch implements RestxRequestMatch {
         this.path = checkNotNull(path);
         this.pathParams = checkNotNull(pathParams);
         this.otherParams = checkNotNull(otherParams);
+        this.pathParamNames = null;
+        this.pathParamOffsets = null;
+    }
+
+    StdRestxRequestMatch(String pattern, String path,
+                         ImmutableList<String> pathParamNames, int[] pathParamOffsets) {
+        this.pattern = checkNotNull(pattern);
+        this.path = checkNotNull(path);
+        this.otherParams = ImmutableMap.of();
+        this.pathParamNames = checkNotNull(pathParamNames);
+        this.pathParamOffsets = pathParamOffsets;
+        if (pathParamNames.isEmpty()) {
+            this.pathParams = ImmutableMap.of();
+        }
     }
 
     @Override
@@ -45,19 +65,36 @@ public class StdRestxRequestMatch implements RestxRequestMatch {
 
     @Override
     public String getPathParam(String paramName) {
-        String v = pathParams.get(paramName);
-        if (v == null) {
+        Optional<String> v = findPathParam(paramName);
+        if (!v.isPresent()) {
             throw new IllegalStateException(
                     String.format("path parameter %s was not found", paramName));
         }
-        return v;
+        return v.get();
+    }
+
+    @Override
+    public Optional<String> findPathParam(String paramName) {
+        return Optional.fromNullable(pathParams == null ? pathParamFromOffsets(paramName) : pathParams.get(paramName));
     }
 
     @Override
     public ImmutableMap<String, String> getPathParams() {
+        if (pathParams == null) {
+            ImmutableMap.Builder<String, String> params = ImmutableMap.builder();
+            for (int i = 0; i < pathParamNames.size(); i++) {
+                params.put(pathParamNames.get(i), path.substring(pathParamOffsets[i * 2], pathParamOffsets[i * 2 + 1]));
+            }
+            pathParams = params.build();
+        }
         return pathParams;
     }
 
+    private String pathParamFromOffsets(String paramName) {
+        int i = pathParamNames.indexOf(paramName);
+        return i == -1 ? null : path.substring(pathParamOffsets[i * 2], pathParamOffsets[i * 2 + 1]);
+    }
+
     @Override
     public ImmutableMap<String, ? extends Object> getOtherParams() {
         return otherParams;
@@ -68,7 +105,7 @@ public class StdRestxRequestMatch implements RestxRequestMatch {
         return "StdRestxHandlerMatch{" +
                 "pattern='" + pattern + '\'' +
                 ", path='" + path + '\'' +
-                ", pathParams=" + pathParams +
+                ", pathParams=" + getPathParams() +
                 ", otherParams=" + otherParams +
                 '}';
     }
@@ -19,7 +19,7 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
     private final Endpoint endpoint;
     private final String stdPathPattern;
 
-    private final Pattern pattern;
+    private final PathMatcher pathMatcher;
     private final ImmutableList<String> groupNames;
 
     public StdRestxRequestMatcher(Endpoint endpoint) {
@@ -28,9 +28,9 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
         PathPatternParser s = new PathPatternParser(endpoint.getPathPattern());
         s.parse();
 
-        pattern = Pattern.compile(s.patternBuilder.toString());
         stdPathPattern = s.stdPathPatternBuilder.toString();
         groupNames = s.groupNamesBuilder.build();
+        pathMatcher = s.pathMatcher(groupNames);
     }
 
     public StdRestxRequestMatcher(String method, String pathPattern) {
@@ -42,17 +42,7 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
         if (!this.endpoint.getMethod().equals(method)) {
             return Optional.absent();
         }
-        Matcher m = pattern.matcher(path);
-        if (!m.matches()) {
-            return Optional.absent();
-        }
-
-        ImmutableMap.Builder<String, String> params = ImmutableMap.builder();
-        for (int i = 0; i < m.groupCount() && i < groupNames.size(); i++) {
-             params.put(groupNames.get(i), m.group(i + 1));
-        }
-
-        return Optional.of(new StdRestxRequestMatch(this.endpoint.getPathPattern(), path, params.build()));
+        return pathMatcher.match(endpoint.getPathPattern(), path);
     }
 
     @Override
@@ -76,6 +66,143 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
         return groupNames;
     }
 
+    /**
+     * The literal beginning of the path pattern, up to the first path param or regex meta character.
+     *
+     * Every path matched by this matcher starts with this prefix. Quantifiers apply to the character preceding
+     * them, which is excluded from the prefix when it may be absent ("/users?" gives "/user"), and alternations
+     * give an empty prefix.
+     *
+     * @return the literal prefix of the path pattern.
+     */
+    public String getLiteralPathPrefix() {
+        String pathPattern = endpoint.getPathPattern();
+        if (pathPattern.indexOf('|') != -1) {
+            return "";
+        }
+        for (int i = 0; i < pathPattern.length(); i++) {
+            char c = pathPattern.charAt(i);
+            if ("\\^$.?*+()[]{}:".indexOf(c) != -1) {
+                return pathPattern.substring(0, c == '?' || c == '*' || c == '{' ? Math.max(0, i - 1) : i);
+            }
+        }
+        return pathPattern;
+    }
+
+    /**
+     * Tells if a path pattern segment (part of the pattern between slashes) is a path param using the default regex,
+     * either with {name} or :name notation.
+     */
+    static boolean isDefaultPathParamSegment(String segment) {
+        int nameStart;
+        int nameEnd;
+        if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+            nameStart = 1;
+            nameEnd = segment.length() - 1;
+        } else if (segment.length() > 1 && segment.charAt(0) == ':') {
+            nameStart = 1;
+            nameEnd = segment.length();
+        } else {
+            return false;
+        }
+        for (int i = nameStart; i < nameEnd; i++) {
+            if (!isValidPathParamNameChar(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells if a path pattern segment (part of the pattern between slashes) only matches itself.
+     *
+     * Path patterns are compiled to regex without quoting, so segments with regex meta characters are not literal.
+     */
+    static boolean isLiteralSegment(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if ("\\^$.|?*+()[]{}:".indexOf(segment.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static interface PathMatcher {
+        Optional<StdRestxRequestMatch> match(String pathPattern, String path);
+    }
+
+    private static final class RegexPathMatcher implements PathMatcher {
+        private final Pattern pattern;
+        private final ImmutableList<String> groupNames;
+
+        private RegexPathMatcher(Pattern pattern, ImmutableList<String> groupNames) {
+            this.pattern = pattern;
+            this.groupNames = groupNames;
+        }
+
+        @Override
+        public Optional<StdRestxRequestMatch> match(String pathPattern, String path) {
+            Matcher m = pattern.matcher(path);
+            if (!m.matches()) {
+                return Optional.absent();
+            }
+
+            ImmutableMap.Builder<String, String> params = ImmutableMap.builder();
+            for (int i = 0; i < m.groupCount() && i < groupNames.size(); i++) {
+                 params.put(groupNames.get(i), m.group(i + 1));
+            }
+
+            return Optional.of(new StdRestxRequestMatch(pathPattern, path, params.build()));
+        }
+    }
+
+    /**
+     * Matches patterns made of literal segments and default path param segments only, by walking the path segments.
+     *
+     * Path params are returned as offsets in the path, their values are only extracted on demand.
+     */
+    private static final class SegmentsPathMatcher implements PathMatcher {
+        // literal segments, or null for path param segments
+        private final String[] segments;
+        private final ImmutableList<String> groupNames;
+
+        private SegmentsPathMatcher(String[] segments, ImmutableList<String> groupNames) {
+            this.segments = segments;
+            this.groupNames = groupNames;
+        }
+
+        @Override
+        public Optional<StdRestxRequestMatch> match(String pathPattern, String path) {
+            int[] offsets = groupNames.isEmpty() ? null : new int[groupNames.size() * 2];
+            int param = 0;
+            int from = 0;
+            for (String segment : segments) {
+                if (from > path.length()) {
+                    return Optional.absent();
+                }
+                int end = path.indexOf('/', from);
+                if (end == -1) {
+                    end = path.length();
+                }
+                if (segment == null) {
+                    if (end == from) {
+                        return Optional.absent();
+                    }
+                    offsets[param++] = from;
+                    offsets[param++] = end;
+                } else if (end - from != segment.length() || !path.startsWith(segment, from)) {
+                    return Optional.absent();
+                }
+                from = end + 1;
+            }
+            if (from <= path.length()) {
+                return Optional.absent();
+            }
+
+            return Optional.of(new StdRestxRequestMatch(pathPattern, path, groupNames, offsets));
+        }
+    }
+
     // here comes the path pattern parsing logic
     // the code is pretty ugly with lot of cross dependencies, I tried to keep it performant, correct, and maintainable
     // not sure those goals are all achieved though
@@ -88,6 +215,7 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
         ImmutableList.Builder<String> groupNamesBuilder = ImmutableList.builder();
         StringBuilder patternBuilder = new StringBuilder();
         StringBuilder stdPathPatternBuilder = new StringBuilder();
+        boolean customRegex;
 
         private PathPatternParser(String pathPattern) {
             this.length = pathPattern.length();
@@ -104,6 +232,28 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
             }
             processor.end(this);
         }
+
+        /**
+         * Picks the path matcher for the parsed pattern: patterns using only literal segments and default path
+         * param segments are matched without regex.
+         */
+        PathMatcher pathMatcher(ImmutableList<String> groupNames) {
+            if (!customRegex) {
+                String[] segments = pathPattern.split("/", -1);
+                boolean segmentsOnly = true;
+                for (int i = 0; i < segments.length && segmentsOnly; i++) {
+                    if (isDefaultPathParamSegment(segments[i])) {
+                        segments[i] = null;
+                    } else if (!isLiteralSegment(segments[i])) {
+                        segmentsOnly = false;
+                    }
+                }
+                if (segmentsOnly) {
+                    return new SegmentsPathMatcher(segments, groupNames);
+                }
+            }
+            return new RegexPathMatcher(Pattern.compile(patternBuilder.toString()), groupNames);
+        }
     }
 
     private static interface PathParserCharProcessor {
@@ -151,6 +301,7 @@ public class StdRestxRequestMatcher implements RestxRequestMatcher {
                     } else {
                         // close paren for matching group
                         pathParamRegex.append(")");
+                        pathPatternParser.customRegex = true;
                     }
 
                     pathPatternParser.processor = regularCharPathParserCharProcessor;
@@ -0,0 +1,11 @@
+package restx.annotations;
+
+/**
+ * Sends the response of a resource method without holding a request thread while the client reads it.
+ *
+ * The response is serialized in memory, and sent once serialized as the client is able to read it, so this is
+ * meant for large responses downloaded by slow clients, at the cost of memory. It's only supported by servlet
+ * containers, other servers send the response as usual.
+ */
+public @interface NonBlockingOutput {
+}
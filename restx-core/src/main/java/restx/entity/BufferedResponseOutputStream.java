@@ -0,0 +1,126 @@
+package restx.entity;
+
+import restx.RestxResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream buffering a response body in a recycled per thread buffer.
+ *
+ * If the whole body fits in the buffer, it is sent in one write with a Content-Length header when finish() is
+ * called. Otherwise the buffer is flushed to the response output stream as soon as it is full, and the rest of the
+ * body is streamed, letting the container use chunked transfer encoding.
+ *
+ * Usage:
+ * <pre>
+ *     BufferedResponseOutputStream out = BufferedResponseOutputStream.open(resp);
+ *     try {
+ *         // write body to out
+ *         out.finish();
+ *     } finally {
+ *         out.release();
+ *     }
+ * </pre>
+ *
+ * Closing this stream is a no op, the response output stream is closed with the response. This way serializers
+ * closing their target don't send a partial body when they fail.
+ */
+public final class BufferedResponseOutputStream extends OutputStream {
+    public static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final ThreadLocal<byte[]> buffers = new ThreadLocal<>();
+
+    public static BufferedResponseOutputStream open(RestxResponse resp) {
+        byte[] buffer = buffers.get();
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        } else {
+            // the buffer is taken from the pool while in use
+            buffers.set(null);
+        }
+        return new BufferedResponseOutputStream(resp, buffer);
+    }
+
+    private final RestxResponse resp;
+    private byte[] buffer;
+    private int count;
+    // response output stream, only set once the body doesn't fit in the buffer, or when finished
+    private OutputStream out;
+
+    private BufferedResponseOutputStream(RestxResponse resp, byte[] buffer) {
+        this.resp = resp;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (out == null && count == buffer.length) {
+            spill();
+        }
+        if (out == null) {
+            buffer[count++] = (byte) b;
+        } else {
+            out.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out == null && count + len > buffer.length) {
+            spill();
+        }
+        if (out == null) {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        } else {
+            out.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // while buffering there is nothing to flush, the body is sent on finish()
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Sends the buffered body, if any, to the response.
+     *
+     * @throws IOException if writing to the response fails
+     */
+    public void finish() throws IOException {
+        if (out != null) {
+            return;
+        }
+        out = resp.getOutputStream();
+        // we can't tell the content length if the stream is encoded, typically gzipped
+        if (!resp.getHeader("Content-Encoding").isPresent()) {
+            resp.setHeader("Content-Length", String.valueOf(count));
+        }
+        out.write(buffer, 0, count);
+        count = 0;
+    }
+
+    /**
+     * Gives the buffer back to the pool, this stream must not be used afterwards.
+     */
+    public void release() {
+        if (buffer != null) {
+            buffers.set(buffer);
+            buffer = null;
+        }
+    }
+
+    private void spill() throws IOException {
+        out = resp.getOutputStream();
+        out.write(buffer, 0, count);
+        count = 0;
+    }
+}
@@ -5,15 +5,20 @@ import com.google.common.base.Optional;
 import restx.factory.Component;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Date: 23/10/13
  * Time: 09:53
+ *
+ * EntityRequestBodyReaders are built once per entity type and content type, and shared by all the routes using them.
  */
 @Component
 public class EntityRequestBodyReaderRegistry {
     private final EntityContentTypeResolver entityContentTypeResolver;
     private final Iterable<EntityRequestBodyReaderFactory> entityRequestBodyReaderFactories;
+    private final ConcurrentMap<EntityTypeKey, EntityRequestBodyReader<?>> readers = new ConcurrentHashMap<>();
 
     public EntityRequestBodyReaderRegistry(Iterable<EntityDefaultContentTypeProvider> entityDefaultContentTypeProviders,
                                            Iterable<EntityRequestBodyReaderFactory> entityRequestBodyReaderFactories) {
@@ -25,10 +30,23 @@ public class EntityRequestBodyReaderRegistry {
     public <T> EntityRequestBodyReader<T> build(final Type type, Optional<String> contentType) {
         String ct = entityContentTypeResolver.resolveContentType(type, contentType);
 
+        EntityTypeKey key = new EntityTypeKey(type, ct);
+        EntityRequestBodyReader<?> reader = readers.get(key);
+        if (reader == null) {
+            reader = doBuild(type, ct);
+            EntityRequestBodyReader<?> previous = readers.putIfAbsent(key, reader);
+            if (previous != null) {
+                reader = previous;
+            }
+        }
+        return (EntityRequestBodyReader<T>) reader;
+    }
+
+    private EntityRequestBodyReader<?> doBuild(Type type, String ct) {
         for (EntityRequestBodyReaderFactory readerFactory : entityRequestBodyReaderFactories) {
             Optional<? extends EntityRequestBodyReader<Object>> reader = readerFactory.mayBuildFor(type, ct);
             if (reader.isPresent()) {
-                return (EntityRequestBodyReader<T>) reader.get();
+                return reader.get();
             }
         }
 
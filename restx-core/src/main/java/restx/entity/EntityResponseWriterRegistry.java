@@ -8,15 +8,20 @@ import restx.factory.Component;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Date: 23/10/13
  * Time: 09:53
+ *
+ * EntityResponseWriters are built once per entity type and content type, and shared by all the routes using them.
  */
 @Component
 public class EntityResponseWriterRegistry {
     private final EntityContentTypeResolver entityContentTypeResolver;
     private final Iterable<EntityResponseWriterFactory> entityResponseWriterFactories;
+    private final ConcurrentMap<EntityTypeKey, EntityResponseWriter<?>> writers = new ConcurrentHashMap<>();
 
     public EntityResponseWriterRegistry(Iterable<EntityDefaultContentTypeProvider> entityDefaultContentTypeProviders,
                                         Iterable<EntityResponseWriterFactory> entityResponseWriterFactories) {
@@ -28,10 +33,23 @@ public class EntityResponseWriterRegistry {
     public <T> EntityResponseWriter<T> build(final Type type, Optional<String> contentType) {
         String ct = entityContentTypeResolver.resolveContentType(type, contentType);
 
+        EntityTypeKey key = new EntityTypeKey(type, ct);
+        EntityResponseWriter<?> writer = writers.get(key);
+        if (writer == null) {
+            writer = doBuild(type, ct);
+            EntityResponseWriter<?> previous = writers.putIfAbsent(key, writer);
+            if (previous != null) {
+                writer = previous;
+            }
+        }
+        return (EntityResponseWriter<T>) writer;
+    }
+
+    private EntityResponseWriter<?> doBuild(Type type, String ct) {
         for (EntityResponseWriterFactory writerFactory : entityResponseWriterFactories) {
             Optional<? extends EntityResponseWriter<Object>> writer = writerFactory.mayBuildFor(type, ct);
             if (writer.isPresent()) {
-                return (EntityResponseWriter<T>) writer.get();
+                return writer.get();
             }
         }
 
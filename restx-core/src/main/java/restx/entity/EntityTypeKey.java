@@ -0,0 +1,35 @@
+package restx.entity;
+
+import java.lang.reflect.Type;
+
+/**
+ * Key of entity readers and writers built by the registries: the entity type and its resolved content type.
+ */
+final class EntityTypeKey {
+    private final Type type;
+    private final String contentType;
+
+    EntityTypeKey(Type type, String contentType) {
+        this.type = type;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EntityTypeKey)) return false;
+
+        EntityTypeKey that = (EntityTypeKey) o;
+        return type.equals(that.type) && contentType.equals(that.contentType);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + contentType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + contentType;
+    }
+}
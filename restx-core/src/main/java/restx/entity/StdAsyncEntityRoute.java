@@ -0,0 +1,107 @@
+package restx.entity;
+
+import com.google.common.base.Optional;
+import restx.*;
+import restx.endpoint.Endpoint;
+import restx.endpoint.EndpointParameterMapperRegistry;
+import restx.exceptions.WrappedCheckedException;
+import restx.factory.ParamDef;
+import restx.http.HttpStatus;
+import restx.security.PermissionFactory;
+import restx.security.RestxSession;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+/**
+ * An entity route whose result is computed asynchronously.
+ *
+ * When the server supports it (see RestxContext.startAsync()), the request thread is released as soon as
+ * doRouteAsync() returns, and the response is written and closed once the returned stage completes, on the thread
+ * completing it. Otherwise, or if the stage is already completed, the route waits for the result and writes it as
+ * a StdEntityRoute does.
+ *
+ * When components are loaded per request (the default in DEV and TEST modes), async processing is not supported:
+ * the request factory is closed once the main router returns.
+ *
+ * The restx session of the request is made current while writing the response, so that session updates are sent
+ * to the client.
+ */
+public abstract class StdAsyncEntityRoute<I,O> extends StdEntityRoute<I,O> {
+    public StdAsyncEntityRoute(String name,
+                               EntityRequestBodyReader<I> entityRequestBodyReader,
+                               EntityResponseWriter<O> entityResponseWriter,
+                               Endpoint endpoint,
+                               HttpStatus successStatus,
+                               RestxLogLevel logLevel,
+                               PermissionFactory permissionFactory,
+                               EndpointParameterMapperRegistry registry,
+                               ParamDef[] queryParametersDefinition) {
+        super(name, entityRequestBodyReader, entityResponseWriter, endpoint, successStatus,
+                logLevel, permissionFactory, registry, queryParametersDefinition);
+    }
+
+    @Override
+    public void handle(final RestxRequestMatch match, final RestxRequest req, final RestxResponse resp,
+                       final RestxContext ctx) throws IOException {
+        final Optional<I> input = readInput(req, resp, ctx);
+        CompletableFuture<Optional<O>> result = doRouteAsync(req, resp, match, input.orNull()).toCompletableFuture();
+        if (result.isDone() || !ctx.isAsyncSupported()) {
+            writeOutput(match, req, resp, ctx, input, join(result));
+            return;
+        }
+
+        final AsyncCompletion async = ctx.startAsync();
+        final RestxSession session = RestxSession.current();
+        result.whenComplete(new BiConsumer<Optional<O>, Throwable>() {
+            @Override
+            public void accept(Optional<O> output, Throwable failure) {
+                if (failure != null) {
+                    async.fail(failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure);
+                    return;
+                }
+                RestxSession previousSession = RestxSession.current();
+                RestxSession.setCurrent(session);
+                try {
+                    writeOutput(match, req, resp, ctx, input, output);
+                    async.complete();
+                } catch (Throwable e) {
+                    async.fail(e);
+                } finally {
+                    RestxSession.setCurrent(previousSession);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected Optional<O> doRoute(RestxRequest restxRequest, RestxResponse restxResponse,
+                                  RestxRequestMatch match, I i) throws IOException {
+        return join(doRouteAsync(restxRequest, restxResponse, match, i).toCompletableFuture());
+    }
+
+    protected abstract CompletionStage<Optional<O>> doRouteAsync(RestxRequest restxRequest, RestxResponse restxResponse,
+                                                                 RestxRequestMatch match, I i) throws IOException;
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new WrappedCheckedException((Exception) cause);
+        }
+    }
+}
@@ -210,15 +210,30 @@ public abstract class StdEntityRoute<I,O> extends StdRoute {
 
     @Override
     public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx) throws IOException {
+        Optional<I> input = readInput(req, resp, ctx);
+        Optional<O> result = doRoute(req, resp, match, input.orNull());
+        writeOutput(match, req, resp, ctx, input, result);
+    }
+
+    /**
+     * Reads the request body into the input entity, notifying the lifecycle listener.
+     */
+    protected Optional<I> readInput(RestxRequest req, RestxResponse resp, RestxContext ctx) throws IOException {
         RouteLifecycleListener lifecycleListener = ctx.getLifecycleListener();
         resp.setLogLevel(logLevel);
 
         lifecycleListener.onRouteMatch(this, req, resp);
-        I input = entityRequestBodyReader.readBody(req, ctx);
-        Optional<I> optionalInput = Optional.fromNullable(input);
-        lifecycleListener.onEntityInput(this, req, resp, optionalInput);
-        Optional<O> result = doRoute(req, resp, match, input);
-        lifecycleListener.onEntityOutput(this, req, resp, optionalInput, result);
+        Optional<I> input = Optional.fromNullable(entityRequestBodyReader.readBody(req, ctx));
+        lifecycleListener.onEntityInput(this, req, resp, input);
+        return input;
+    }
+
+    /**
+     * Writes the route result to the response, or a not found response if absent, notifying the lifecycle listener.
+     */
+    protected void writeOutput(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx,
+                               Optional<I> input, Optional<O> result) throws IOException {
+        ctx.getLifecycleListener().onEntityOutput(this, req, resp, input, result);
         if (result.isPresent()) {
             entityResponseWriter.sendResponse(getSuccessStatus(), result.get(), req, resp, ctx);
         } else {
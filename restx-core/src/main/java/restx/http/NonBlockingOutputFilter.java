@@ -0,0 +1,49 @@
+package restx.http;
+
+import com.google.common.base.Optional;
+import restx.*;
+import restx.annotations.NonBlockingOutput;
+import restx.description.OperationDescription;
+import restx.description.ResourceDescription;
+import restx.factory.Component;
+
+import java.io.IOException;
+
+/**
+ * Enables non blocking output on the responses of routes annotated with NonBlockingOutput.
+ *
+ * It runs before other filters, so that it gets the response of the server before it is wrapped. Responses which
+ * don't support non blocking output are sent as usual.
+ */
+@Component(priority = -1000)
+public class NonBlockingOutputFilter implements RestxRouteFilter, RestxHandler {
+    private static final OperationDescription.Matcher NON_BLOCKING_OPERATION =
+            new OperationDescription.Matcher().havingAnyAnnotations(NonBlockingOutput.class);
+
+    @Override
+    public Optional<RestxHandlerMatch> match(RestxRoute route) {
+        if (!(route instanceof StdRoute)) {
+            return Optional.absent();
+        }
+        for (ResourceDescription resourceDescription : ((StdRoute) route).describe()) {
+            if (resourceDescription.operations == null) {
+                continue;
+            }
+            for (OperationDescription operation : resourceDescription.operations) {
+                if (NON_BLOCKING_OPERATION.apply(operation)) {
+                    return Optional.of(new RestxHandlerMatch(new StdRestxRequestMatch("/*"), this));
+                }
+            }
+        }
+        return Optional.absent();
+    }
+
+    @Override
+    public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
+            throws IOException {
+        if (resp instanceof NonBlockingRestxResponse) {
+            ((NonBlockingRestxResponse) resp).enableNonBlockingOutput();
+        }
+        ctx.nextHandlerMatch().handle(req, resp, ctx);
+    }
+}
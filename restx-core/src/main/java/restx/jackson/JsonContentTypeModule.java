@@ -1,8 +1,11 @@
 package restx.jackson;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.google.common.base.Optional;
 import org.slf4j.Logger;
@@ -39,9 +42,16 @@ public class JsonContentTypeModule {
         };
     }
 
+    /*
+     * In PROD mode readers and writers fetch their (de)serializers when they are built, ie when routers are built,
+     * so that the first request on each endpoint doesn't pay the cost of jackson introspection.
+     * It is not done in other modes, where startup time matters more and classes may be reloaded.
+     */
+
     @Provides
     public EntityRequestBodyReaderFactory jsonEntityRequestBodyReaderFactory(
-            @Named(FrontObjectMapperFactory.READER_NAME) final ObjectReader reader) {
+            @Named(FrontObjectMapperFactory.READER_NAME) final ObjectReader reader, AppSettings appSettings) {
+        final boolean eagerFetch = RestxContext.Modes.PROD.equals(appSettings.mode());
         return new EntityRequestBodyReaderFactory() {
             @Override
             public <T> Optional<? extends EntityRequestBodyReader<T>> mayBuildFor(Type valueType, String contentType) {
@@ -49,11 +59,14 @@ public class JsonContentTypeModule {
                     return Optional.absent();
                 }
                 Class<?> clazz = getCTJacksonViewClass(valueType, contentType, Views.Transient.class);
+                ObjectReader typeReader = reader.withView(clazz);
+                if (eagerFetch) {
+                    typeReader = typeReader.with(DeserializationFeature.EAGER_DESERIALIZER_FETCH);
+                }
                 return Optional.of(
                         JsonEntityRequestBodyReader.<T>using(
                                 valueType,
-                                reader.withView(clazz)
-                                        .withType(TypeFactory.defaultInstance().constructType(valueType))))
+                                typeReader.withType(TypeFactory.defaultInstance().constructType(valueType))))
                         ;
             }
         };
@@ -61,7 +74,9 @@ public class JsonContentTypeModule {
 
     @Provides
     public EntityResponseWriterFactory jsonEntityResponseWriterFactory(
-            @Named(FrontObjectMapperFactory.WRITER_NAME) final ObjectWriter objectWriter) {
+            @Named(FrontObjectMapperFactory.MAPPER_NAME) final ObjectMapper mapper,
+            @Named(FrontObjectMapperFactory.WRITER_NAME) final ObjectWriter objectWriter, AppSettings appSettings) {
+        final boolean eagerFetch = RestxContext.Modes.PROD.equals(appSettings.mode());
         return new EntityResponseWriterFactory() {
             @Override
             public <T> Optional<? extends EntityResponseWriter<T>> mayBuildFor(Type valueType, String contentType) {
@@ -70,6 +85,12 @@ public class JsonContentTypeModule {
                 }
                 Class<?> clazz = getCTJacksonViewClass(valueType, contentType, Views.Transient.class);
                 ObjectWriter writer = objectWriter.withView(clazz);
+                if (eagerFetch) {
+                    writer = writer.with(SerializationFeature.EAGER_SERIALIZER_FETCH);
+                    if (valueType instanceof Class) {
+                        prefetchSerializer(mapper, (Class<?>) valueType);
+                    }
+                }
                 if (valueType instanceof ParameterizedType) {
                     /* we set the type on writer only for parameterized types:
                      * if we set it for regular types, jackson will build the serializer based on this type, and not the
@@ -84,6 +105,19 @@ public class JsonContentTypeModule {
         };
     }
 
+    /**
+     * Untyped writers look up the serializer by the class of the value in the mapper root serializer cache, which is
+     * keyed separately by class and by JavaType, so we fetch it by class.
+     */
+    private static void prefetchSerializer(ObjectMapper mapper, Class<?> valueType) {
+        try {
+            mapper.getSerializerProviderInstance().findTypedValueSerializer(valueType, true, null);
+        } catch (JsonMappingException e) {
+            // the error will be reported when writing values of this type
+            logger.debug("can't fetch serializer of {}: {}", valueType.getName(), e.getMessage());
+        }
+    }
+
     private Class<?> getCTJacksonViewClass(Type valueType, String contentType, Class<?> defaultClazz) {
         int parameterIndex = contentType.indexOf(JACKSON_VIEW_PARAMETER);
         if (parameterIndex != -1) {
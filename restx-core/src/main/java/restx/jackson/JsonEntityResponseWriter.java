@@ -1,13 +1,17 @@
 package restx.jackson;
 
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
 import restx.entity.AbstractEntityResponseWriter;
+import restx.entity.BufferedResponseOutputStream;
 import restx.RestxContext;
 import restx.RestxRequest;
 import restx.RestxResponse;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 
 /**
  * Date: 23/10/13
@@ -27,6 +31,21 @@ public class JsonEntityResponseWriter<T> extends AbstractEntityResponseWriter<T>
 
     @Override
     protected void write(T value, RestxRequest req, RestxResponse resp, RestxContext ctx) throws IOException {
-        writer.writeValue(resp.getWriter(), value);
+        Optional<Charset> charset = resp.getCharset();
+        if (charset.isPresent() && !charset.get().equals(Charsets.UTF_8)) {
+            writer.writeValue(resp.getWriter(), value);
+            return;
+        }
+
+        // let jackson write UTF-8 bytes directly, in a buffer allowing to set content length on small payloads
+        BufferedResponseOutputStream out = BufferedResponseOutputStream.open(resp);
+        try {
+            writer.writeValue(out, value);
+            // response writer ends the response with a new line, we keep the same output
+            out.write('\n');
+            out.finish();
+        } finally {
+            out.release();
+        }
     }
 }
@@ -0,0 +1,172 @@
+package restx.security;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import org.joda.time.DateTime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A compact session cookie format, encoded in base64url.
+ *
+ * Version 1 binary layout:
+ * <pre>
+ *     version     1 byte, always 1
+ *     keys hash   4 bytes, crc32 of the session definition keys
+ *     expires     varint, epoch seconds
+ *     entries     until the end: key ref (varint), [key (string) if key ref is 0], value id (string)
+ * </pre>
+ * Strings are encoded as a varint length followed by the UTF-8 bytes. Keys of the session definition are stored as
+ * their 1 based index in the sorted definition keys, other keys are stored as strings (key ref 0).
+ *
+ * The keys hash protects against decoding key indexes with another set of definition keys: such cookies are
+ * rejected, as if the session was lost.
+ */
+public class BinaryRestxSessionCookieCodec implements RestxSessionCookieCodec {
+    private static final int VERSION = 1;
+    // first base64 char of any version 1 cookie, since first byte is 0b00000001
+    private static final char VERSION_1_PREFIX = 'A';
+    private static final BaseEncoding BASE64 = BaseEncoding.base64Url().omitPadding();
+
+    private final ImmutableList<String> keys;
+    private final ImmutableMap<String, Integer> keyRefs;
+    private final int keysHash;
+
+    public BinaryRestxSessionCookieCodec(RestxSession.Definition sessionDefinition) {
+        this.keys = Ordering.natural().immutableSortedCopy(sessionDefinition.entriesKeySet());
+        ImmutableMap.Builder<String, Integer> keyRefs = ImmutableMap.builder();
+        for (int i = 0; i < keys.size(); i++) {
+            keyRefs.put(keys.get(i), i + 1);
+        }
+        this.keyRefs = keyRefs.build();
+        this.keysHash = Hashing.crc32().hashString(Joiner.on('\n').join(keys), Charsets.UTF_8).asInt();
+    }
+
+    @Override
+    public boolean canDecode(String cookie) {
+        return !cookie.isEmpty() && cookie.charAt(0) == VERSION_1_PREFIX;
+    }
+
+    @Override
+    public Content decode(String cookie) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = BASE64.decode(cookie);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid binary session cookie: " + e.getMessage(), e);
+        }
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported binary session cookie version: " + version);
+        }
+        int hash = reader.readByte() << 24 | reader.readByte() << 16 | reader.readByte() << 8 | reader.readByte();
+        DateTime expires = new DateTime(reader.readVarLong() * 1000L);
+
+        ImmutableMap.Builder<String, String> valueidsByKey = ImmutableMap.builder();
+        while (reader.hasMore()) {
+            int keyRef = (int) reader.readVarLong();
+            String key;
+            if (keyRef == 0) {
+                key = reader.readString();
+            } else {
+                if (hash != keysHash || keyRef > keys.size()) {
+                    throw new IOException("binary session cookie was written with other session definition keys");
+                }
+                key = keys.get(keyRef - 1);
+            }
+            valueidsByKey.put(key, reader.readString());
+        }
+        return new Content(valueidsByKey.build(), expires);
+    }
+
+    @Override
+    public String encode(Content content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(VERSION);
+        out.write(keysHash >>> 24);
+        out.write(keysHash >>> 16);
+        out.write(keysHash >>> 8);
+        out.write(keysHash);
+        writeVarLong(out, content.getExpires().getMillis() / 1000L);
+        for (Map.Entry<String, String> entry : content.getValueidsByKey().entrySet()) {
+            Integer keyRef = keyRefs.get(entry.getKey());
+            if (keyRef == null) {
+                writeVarLong(out, 0);
+                writeString(out, entry.getKey());
+            } else {
+                writeVarLong(out, keyRef);
+            }
+            writeString(out, entry.getValue());
+        }
+        return BASE64.encode(out.toByteArray());
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(Charsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int pos;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasMore() {
+            return pos < bytes.length;
+        }
+
+        int readByte() throws IOException {
+            if (pos >= bytes.length) {
+                throw new IOException("truncated binary session cookie");
+            }
+            return bytes[pos++] & 0xFF;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("malformed varint in binary session cookie");
+        }
+
+        String readString() throws IOException {
+            long length = readVarLong();
+            if (length > bytes.length - pos) {
+                throw new IOException("truncated binary session cookie");
+            }
+            String s = new String(bytes, pos, (int) length, Charsets.UTF_8);
+            pos += (int) length;
+            return s;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryRestxSessionCookieCodec";
+    }
+}
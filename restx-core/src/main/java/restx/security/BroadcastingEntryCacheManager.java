@@ -0,0 +1,101 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+import restx.security.RestxSession.Definition.CachedEntry;
+import restx.security.RestxSession.Definition.Entry;
+import restx.security.RestxSession.Definition.EntryCacheManager;
+import restx.security.SessionInvalidationBus.Invalidation;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An EntryCacheManager decorating another one to broadcast cache invalidations on a SessionInvalidationBus.
+ *
+ * Invalidations received from the bus are applied to the entries created by this manager, they are not
+ * published again.
+ */
+public class BroadcastingEntryCacheManager implements EntryCacheManager, AutoCloseable {
+    private final EntryCacheManager delegate;
+    private final SessionInvalidationBus bus;
+    private final ConcurrentMap<String, List<CachedEntry<?>>> entries = new ConcurrentHashMap<>();
+    private final SessionInvalidationBus.Listener listener = new SessionInvalidationBus.Listener() {
+        @Override
+        public void onInvalidation(Invalidation invalidation) {
+            List<CachedEntry<?>> cachedEntries = entries.get(invalidation.getEntryKey());
+            if (cachedEntries == null) {
+                return;
+            }
+            for (CachedEntry<?> cachedEntry : cachedEntries) {
+                if (invalidation.getValueId().isPresent()) {
+                    cachedEntry.invalidateCacheFor(invalidation.getValueId().get());
+                } else {
+                    cachedEntry.invalidateCache();
+                }
+            }
+        }
+    };
+
+    public BroadcastingEntryCacheManager(EntryCacheManager delegate, SessionInvalidationBus bus) {
+        this.delegate = delegate;
+        this.bus = bus;
+        bus.subscribe(listener);
+    }
+
+    @Override
+    public <T> CachedEntry<T> getCachedEntry(Entry<T> entry) {
+        CachedEntry<T> cachedEntry = delegate.getCachedEntry(entry);
+        List<CachedEntry<?>> cachedEntries = entries.get(entry.getKey());
+        if (cachedEntries == null) {
+            entries.putIfAbsent(entry.getKey(), new CopyOnWriteArrayList<CachedEntry<?>>());
+            cachedEntries = entries.get(entry.getKey());
+        }
+        cachedEntries.add(cachedEntry);
+        return new BroadcastingCachedEntry<>(cachedEntry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        bus.unsubscribe(listener);
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+
+    private class BroadcastingCachedEntry<T> implements CachedEntry<T> {
+        private final CachedEntry<T> cachedEntry;
+
+        private BroadcastingCachedEntry(CachedEntry<T> cachedEntry) {
+            this.cachedEntry = cachedEntry;
+        }
+
+        @Override
+        public String getKey() {
+            return cachedEntry.getKey();
+        }
+
+        @Override
+        public Optional<? extends T> getValueForId(String valueId) {
+            return cachedEntry.getValueForId(valueId);
+        }
+
+        @Override
+        public void warm(Iterable<String> valueIds) {
+            cachedEntry.warm(valueIds);
+        }
+
+        @Override
+        public void invalidateCacheFor(String valueId) {
+            cachedEntry.invalidateCacheFor(valueId);
+            bus.publish(listener, Invalidation.of(getKey(), valueId));
+        }
+
+        @Override
+        public void invalidateCache() {
+            cachedEntry.invalidateCache();
+            bus.publish(listener, Invalidation.all(getKey()));
+        }
+    }
+}
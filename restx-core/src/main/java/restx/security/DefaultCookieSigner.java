@@ -8,26 +8,29 @@ import restx.common.Crypto;
 import restx.factory.Component;
 
 /**
- * Default cookie signer, using HMAC-SHA1 algorithm to sign the cookie.
+ * Default cookie signer, using HMAC algorithm to sign the cookie.
+ *
+ * The HMAC algorithm is the one of the signature key, HMAC-SHA1 by default.
  *
  * @author apeyrard
  */
 @Component
 @Named(RestxSessionCookieFilter.COOKIE_SIGNER_NAME)
 public class DefaultCookieSigner implements Signer {
-	private final SignatureKey signatureKey;
+	private final Crypto.Hmac hmac;
 
 	public DefaultCookieSigner(Optional<SignatureKey> signatureKey) {
-		this.signatureKey = signatureKey.or(SignatureKey.DEFAULT);
+		SignatureKey key = signatureKey.or(SignatureKey.DEFAULT);
+		this.hmac = Crypto.hmac(key.getKey(), key.getAlgorithm());
 	}
 
 	@Override
 	public String sign(String cookie) {
-		return Crypto.sign(cookie, signatureKey.getKey());
+		return hmac.sign(cookie);
 	}
 
 	@Override
 	public boolean verify(String cookie, String signedCookie) {
-		return sign(cookie).equals(signedCookie);
+		return hmac.verify(cookie, signedCookie);
 	}
 }
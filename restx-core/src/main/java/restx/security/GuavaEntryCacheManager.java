@@ -4,33 +4,153 @@ import com.google.common.base.Optional;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import restx.common.metrics.api.Gauge;
+import restx.common.metrics.api.MetricRegistry;
+import restx.common.metrics.dummy.DummyMetricRegistry;
+import restx.security.RestxSession.Definition.BulkEntry;
 import restx.security.RestxSession.Definition.CachedEntry;
 import restx.security.RestxSession.Definition.Entry;
 import restx.security.RestxSession.Definition.EntryCacheManager;
 
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A restx session entry cache manager based on guava cache.
  *
+ * Cache size, expiry and refresh are taken from the security settings (restx.sessions.cache.* keys).
+ * When refresh is enabled, stale values are reloaded asynchronously on a bounded executor, requests get the stale
+ * value in the meantime instead of waiting for the reload.
+ *
+ * Cache stats of each entry are exported as gauges in the metric registry.
+ *
  * You can override the cache settings by overriding the getCacheBuilder() method.
  *
  * Note that Guava Cache is not distributed, so be very careful with cache invalidation
- * when using this cache.
+ * when using this cache: SecurityModule provides it decorated with a BroadcastingEntryCacheManager, so that
+ * invalidations are broadcast to other nodes when restx.sessions.invalidation.bus is set.
  *
  * This is the default EntryCacheManager, see SecurityModule which provides one.
  */
-public class GuavaEntryCacheManager implements EntryCacheManager {
+public class GuavaEntryCacheManager implements EntryCacheManager, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GuavaEntryCacheManager.class);
+    private static final int RELOAD_QUEUE_SIZE = 1000;
+    // same defaults as restx.sessions.cache.* settings
+    private static final long DEFAULT_SIZE = 1000;
+    private static final int DEFAULT_RELOAD_THREADS = 2;
+
+    private final long maximumSize;
+    private final long expireAfterWriteSeconds;
+    private final long refreshAfterWriteSeconds;
+    private final MetricRegistry metrics;
+    // only created when refresh is enabled
+    private final ExecutorService reloadExecutor;
+
+    public GuavaEntryCacheManager() {
+        this(DEFAULT_SIZE, 0, 0, DEFAULT_RELOAD_THREADS, new DummyMetricRegistry());
+    }
+
+    public GuavaEntryCacheManager(SecurityModule.SecuritySettings settings, MetricRegistry metrics) {
+        this(settings.sessionsCacheSize(), settings.sessionsCacheExpireAfterWrite(),
+                settings.sessionsCacheRefreshAfterWrite(), settings.sessionsCacheReloadThreads(), metrics);
+    }
+
+    public GuavaEntryCacheManager(long maximumSize, long expireAfterWriteSeconds,
+                                  long refreshAfterWriteSeconds, int reloadThreads, MetricRegistry metrics) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+        this.refreshAfterWriteSeconds = refreshAfterWriteSeconds;
+        this.metrics = metrics;
+        if (refreshAfterWriteSeconds > 0) {
+            // reloads beyond the queue capacity are discarded, see asyncReloading()
+            this.reloadExecutor = new ThreadPoolExecutor(reloadThreads, reloadThreads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(RELOAD_QUEUE_SIZE),
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("restx-session-cache-reload-%d").build());
+        } else {
+            this.reloadExecutor = null;
+        }
+    }
+
     @Override
     public <T> CachedEntry<T> getCachedEntry(Entry<T> entry) {
-        return new GuavaCacheSessionDefinitionEntry<T>(entry.getKey(), getLoadingCacheFor(entry));
+        LoadingCache<String, T> loadingCache = getLoadingCacheFor(entry);
+        registerStats(entry.getKey(), loadingCache);
+        return new GuavaCacheSessionDefinitionEntry<T>(entry.getKey(), loadingCache);
     }
 
     protected <T> LoadingCache<String, T> getLoadingCacheFor(final Entry<T> entry) {
-        return getCacheBuilder(entry).build(getCacheLoaderFor(entry));
+        CacheLoader<String, T> loader = getCacheLoaderFor(entry);
+        if (reloadExecutor != null) {
+            loader = asyncReloading(entry.getKey(), loader);
+        }
+        return getCacheBuilder(entry).build(loader);
+    }
+
+    /**
+     * Reloads values on the reload executor.
+     *
+     * Unlike CacheLoader.asyncReloading(), when the executor queue is full the reload is discarded without failing:
+     * the stale value is kept as if it had been reloaded, and its refresh is attempted again after
+     * refreshAfterWrite. A failing reload would make guava log a warning on each access to the value.
+     */
+    private <T> CacheLoader<String, T> asyncReloading(final String entryKey, final CacheLoader<String, T> loader) {
+        return new CacheLoader<String, T>() {
+            @Override
+            public T load(String key) throws Exception {
+                return loader.load(key);
+            }
+
+            @Override
+            public Map<String, T> loadAll(Iterable<? extends String> keys) throws Exception {
+                return loader.loadAll(keys);
+            }
+
+            @Override
+            public ListenableFuture<T> reload(final String key, final T oldValue) throws Exception {
+                ListenableFutureTask<T> task = ListenableFutureTask.create(new Callable<T>() {
+                    @Override
+                    public T call() throws Exception {
+                        return loader.reload(key, oldValue).get();
+                    }
+                });
+                try {
+                    reloadExecutor.execute(task);
+                    return task;
+                } catch (RejectedExecutionException e) {
+                    logger.debug("reload queue is full, keeping stale value of {} for {}", entryKey, key);
+                    return Futures.immediateFuture(oldValue);
+                }
+            }
+        };
     }
 
     protected <T> CacheLoader<String, T> getCacheLoaderFor(final Entry<T> entry) {
+        if (entry instanceof BulkEntry) {
+            return new CacheLoader<String, T>() {
+                @Override
+                public T load(String key) throws Exception {
+                    return entry.getValueForId(key).orNull();
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map<String, T> loadAll(Iterable<? extends String> keys) throws Exception {
+                    return (Map<String, T>) ((BulkEntry<T>) entry).getValuesForIds((Iterable<String>) keys);
+                }
+            };
+        }
         return new CacheLoader<String, T>() {
             @Override
             public T load(String key) throws Exception {
@@ -40,7 +160,49 @@ public class GuavaEntryCacheManager implements EntryCacheManager {
     }
 
     protected <T> CacheBuilder<Object, Object> getCacheBuilder(Entry<T> entry) {
-        return CacheBuilder.newBuilder().maximumSize(1000);
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats();
+        if (expireAfterWriteSeconds > 0) {
+            builder.expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS);
+        }
+        if (refreshAfterWriteSeconds > 0) {
+            builder.refreshAfterWrite(refreshAfterWriteSeconds, TimeUnit.SECONDS);
+        }
+        return builder;
+    }
+
+    protected void registerStats(String key, final LoadingCache<String, ?> loadingCache) {
+        String prefix = "<SessionCache> " + key + " ";
+        metrics.gauge(prefix + "hitCount", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return loadingCache.stats().hitCount();
+            }
+        });
+        metrics.gauge(prefix + "missCount", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return loadingCache.stats().missCount();
+            }
+        });
+        metrics.gauge(prefix + "hitRate", new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+                return loadingCache.stats().hitRate();
+            }
+        });
+        metrics.gauge(prefix + "averageLoadPenaltyMillis", new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+                return loadingCache.stats().averageLoadPenalty() / 1000000d;
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (reloadExecutor != null) {
+            reloadExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -74,6 +236,25 @@ public class GuavaEntryCacheManager implements EntryCacheManager {
             }
         }
 
+        /**
+         * Loads the values of the given ids which are not in cache yet.
+         *
+         * If the entry is a BulkEntry the missing values are loaded at once, otherwise they are loaded one by one.
+         *
+         * @param valueIds the value ids to load in cache.
+         */
+        @Override
+        public void warm(Iterable<String> valueIds) {
+            try {
+                loadingCache.getAll(valueIds);
+            } catch (CacheLoader.InvalidCacheLoadException e) {
+                // some values were not found, the ones found are cached anyway
+            } catch (ExecutionException e) {
+                throw new RuntimeException(
+                        "impossible to warm cache for " + key + ": " + e.getMessage(), e);
+            }
+        }
+
         @Override
         public void invalidateCacheFor(String valueId) {
             loadingCache.invalidate(valueId);
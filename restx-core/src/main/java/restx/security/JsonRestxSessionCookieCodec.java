@@ -0,0 +1,48 @@
+package restx.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The historical session cookie format: a JSON object with the session value ids by key, and the expiry as an ISO
+ * date under the "_expires" key.
+ */
+public class JsonRestxSessionCookieCodec implements RestxSessionCookieCodec {
+    static final String EXPIRES = "_expires";
+
+    private final ObjectMapper mapper;
+
+    public JsonRestxSessionCookieCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean canDecode(String cookie) {
+        return cookie.startsWith("{");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Content decode(String cookie) throws IOException {
+        Map<String, String> entries = mapper.readValue(cookie, Map.class);
+        DateTime expires = DateTime.parse(entries.remove(EXPIRES));
+        return new Content(ImmutableMap.copyOf(entries), expires);
+    }
+
+    @Override
+    public String encode(Content content) throws IOException {
+        Map<String, String> map = Maps.newHashMap(content.getValueidsByKey());
+        map.put(EXPIRES, content.getExpires().toString());
+        return mapper.writeValueAsString(map);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonRestxSessionCookieCodec";
+    }
+}
@@ -0,0 +1,39 @@
+package restx.security;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An in JVM session invalidation bus, invalidations are delivered synchronously to the listeners.
+ *
+ * Use jvm() to get the bus shared by all the factories of the JVM, or create an instance to restrict invalidations
+ * to the listeners registered on it.
+ */
+public class LocalSessionInvalidationBus implements SessionInvalidationBus {
+    private static final LocalSessionInvalidationBus JVM_BUS = new LocalSessionInvalidationBus();
+
+    public static LocalSessionInvalidationBus jvm() {
+        return JVM_BUS;
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Listener source, Invalidation invalidation) {
+        for (Listener listener : listeners) {
+            if (listener != source) {
+                listener.onInvalidation(invalidation);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+}
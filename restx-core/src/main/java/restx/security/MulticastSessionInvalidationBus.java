@@ -0,0 +1,218 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import restx.common.Crypto;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A session invalidation bus broadcasting invalidations to other nodes with UDP multicast.
+ *
+ * Each invalidation is sent as a single datagram, to all nodes which joined the same multicast group and port.
+ * Delivery is not guaranteed, as with any UDP message: keep an expiry on session caches if a lost invalidation
+ * is not acceptable.
+ *
+ * Datagrams are signed with the HMAC of the given signature key, and datagrams which are not signed with the same key
+ * are dropped: all the nodes of a cluster must share the same signature key.
+ *
+ * To prevent captured datagrams from being replayed, each datagram carries the time it was sent and a sequence number
+ * of its sender node. Datagrams sent more than 30 seconds before or after they are received are dropped, as well as
+ * datagrams already received: the clocks of the nodes must be kept in sync.
+ *
+ * Invalidations are also delivered to the listeners of this bus in the JVM, as with LocalSessionInvalidationBus.
+ */
+public class MulticastSessionInvalidationBus implements SessionInvalidationBus, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MulticastSessionInvalidationBus.class);
+
+    private static final String VERSION = "2";
+    private static final int MAX_PACKET_SIZE = 8 * 1024;
+    static final long MAX_AGE = TimeUnit.SECONDS.toMillis(30);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    // datagrams older than MAX_AGE are dropped anyway, they don't need to be remembered longer
+    private final ConcurrentMap<String, Boolean> received = CacheBuilder.newBuilder()
+            .expireAfterWrite(2 * MAX_AGE, TimeUnit.MILLISECONDS)
+            .<String, Boolean>build().asMap();
+    private final LocalSessionInvalidationBus local = new LocalSessionInvalidationBus();
+    private final Crypto.Hmac hmac;
+    private final InetSocketAddress group;
+    private final MulticastSocket socket;
+    private volatile boolean closed;
+
+    /**
+     * Joins the given multicast group.
+     *
+     * @param group the multicast group address
+     * @param port the UDP port
+     * @param networkInterface the name or the address of the network interface used to join the group and send
+     *                         datagrams, the one chosen by the system if absent
+     * @param signatureKey the key used to sign and verify datagrams
+     */
+    public MulticastSessionInvalidationBus(String group, int port, Optional<String> networkInterface,
+                                           SignatureKey signatureKey) throws IOException {
+        this.hmac = Crypto.hmac(signatureKey.getKey(), signatureKey.getAlgorithm());
+        this.group = new InetSocketAddress(InetAddress.getByName(group), port);
+        this.socket = new MulticastSocket(port);
+        NetworkInterface ni = null;
+        if (networkInterface.isPresent()) {
+            ni = findNetworkInterface(networkInterface.get());
+            socket.setNetworkInterface(ni);
+        }
+        socket.joinGroup(this.group, ni);
+
+        Thread receiver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receive();
+            }
+        }, "restx-session-invalidation-" + port);
+        receiver.setDaemon(true);
+        receiver.start();
+        logger.info("session invalidations broadcast on {}{}", this.group, ni == null ? "" : " via " + ni.getName());
+    }
+
+    @Override
+    public void publish(Listener source, Invalidation invalidation) {
+        local.publish(source, invalidation);
+
+        byte[] data = encode(hmac, nodeId, sequence.incrementAndGet(), System.currentTimeMillis(), invalidation);
+        if (data.length > MAX_PACKET_SIZE) {
+            logger.warn("session invalidation too large to be broadcast: {}", invalidation);
+            return;
+        }
+        try {
+            socket.send(new DatagramPacket(data, data.length, group));
+        } catch (IOException e) {
+            logger.warn("failed to broadcast session invalidation " + invalidation + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        local.subscribe(listener);
+    }
+
+    @Override
+    public void unsubscribe(Listener listener) {
+        local.unsubscribe(listener);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.warn("failed to receive session invalidation: " + e.getMessage(), e);
+                }
+                continue;
+            }
+            Optional<Invalidation> invalidation = decode(hmac, nodeId, System.currentTimeMillis(), received,
+                    packet.getData(), packet.getLength());
+            if (invalidation.isPresent()) {
+                // no source: it comes from another node, all local listeners have to apply it
+                local.publish(null, invalidation.get());
+            }
+        }
+    }
+
+    private static NetworkInterface findNetworkInterface(String nameOrAddress) throws IOException {
+        NetworkInterface ni = NetworkInterface.getByName(nameOrAddress);
+        if (ni == null) {
+            ni = NetworkInterface.getByInetAddress(InetAddress.getByName(nameOrAddress));
+        }
+        if (ni == null) {
+            throw new IllegalStateException("no network interface found for '" + nameOrAddress + "'");
+        }
+        return ni;
+    }
+
+    /*
+     * Datagram format is made of 7 lines: the signature of the 6 other lines, format version, sender node id, sender
+     * sequence number, sending time in millis since epoch, entry key, and either '=' followed by the value id, or '*'
+     * when all values are invalidated.
+     */
+    static byte[] encode(Crypto.Hmac hmac, String nodeId, long sequence, long timestamp, Invalidation invalidation) {
+        String payload = VERSION + '\n' + nodeId + '\n' + sequence + '\n' + timestamp + '\n'
+                + invalidation.getEntryKey() + '\n'
+                + (invalidation.getValueId().isPresent() ? "=" + invalidation.getValueId().get() : "*");
+        return (hmac.sign(payload) + '\n' + payload).getBytes(UTF_8);
+    }
+
+    /**
+     * Decodes a datagram, returning absent if it comes from the given node, is not signed with the given hmac, was
+     * sent more than MAX_AGE before or after now, is in the given received datagrams, or is not a valid invalidation.
+     *
+     * The datagram is added to the received datagrams when it is returned.
+     */
+    static Optional<Invalidation> decode(Crypto.Hmac hmac, String nodeId, long now,
+                                         ConcurrentMap<String, Boolean> received, byte[] data, int length) {
+        List<String> signed = Splitter.on('\n').limit(2).splitToList(new String(data, 0, length, UTF_8));
+        if (signed.size() != 2 || !hmac.verify(signed.get(1), signed.get(0))) {
+            // not logged as a warning: anyone can send datagrams to the group, they should not be able to flood logs
+            logger.debug("ignoring unsigned session invalidation datagram");
+            return Optional.absent();
+        }
+        List<String> parts = Splitter.on('\n').limit(6).splitToList(signed.get(1));
+        if (parts.size() != 6 || !VERSION.equals(parts.get(0))) {
+            logger.warn("ignoring invalid session invalidation datagram");
+            return Optional.absent();
+        }
+        if (nodeId.equals(parts.get(1))) {
+            return Optional.absent();
+        }
+        long sequence;
+        long timestamp;
+        try {
+            sequence = Long.parseLong(parts.get(2));
+            timestamp = Long.parseLong(parts.get(3));
+        } catch (NumberFormatException e) {
+            logger.warn("ignoring invalid session invalidation datagram");
+            return Optional.absent();
+        }
+        // not logged as warnings either: anyone can replay datagrams captured on the network
+        if (Math.abs(now - timestamp) > MAX_AGE) {
+            logger.debug("ignoring stale session invalidation datagram sent at {}", timestamp);
+            return Optional.absent();
+        }
+        if (received.putIfAbsent(parts.get(1) + '/' + sequence, Boolean.TRUE) != null) {
+            logger.debug("ignoring replayed session invalidation datagram");
+            return Optional.absent();
+        }
+
+        String value = parts.get(5);
+        if (value.equals("*")) {
+            return Optional.of(Invalidation.all(parts.get(4)));
+        } else if (value.startsWith("=")) {
+            return Optional.of(Invalidation.of(parts.get(4), value.substring(1)));
+        } else {
+            logger.warn("ignoring invalid session invalidation datagram");
+            return Optional.absent();
+        }
+    }
+}
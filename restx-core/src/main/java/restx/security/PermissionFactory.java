@@ -3,7 +3,9 @@ package restx.security;
 import com.google.common.base.Optional;
 import restx.factory.Component;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -63,9 +65,14 @@ public class PermissionFactory {
 
     /**
      * This permission is true as soon as the principal has the given role
+     *
+     * The role may reference request parameters, like <code>admin-{companyId}</code>, it is parsed once when the
+     * permission is created, and only the referenced variables are looked up in the interpolation map when checked.
+     *
      * @param role the role to check
      */
     public Permission hasRole(final String role) {
+        final RoleTemplate template = RoleTemplate.compile(role);
         return new Permission() {
             public final String TO_STRING = "HAS_ROLE[" + role + "]";
 
@@ -75,7 +82,7 @@ public class PermissionFactory {
                     return Optional.of(this);
                 }
 
-                String interpolatedRole = interpolateRole(role, roleInterpolationMap);
+                String interpolatedRole = template.interpolate(roleInterpolationMap);
                 if(principal.getPrincipalRoles().contains(interpolatedRole)) {
                     return Optional.of(this);
                 }
@@ -90,19 +97,62 @@ public class PermissionFactory {
         };
     }
 
+    /**
+     * Interpolates a role with the given variables.
+     *
+     * @deprecated not called by hasRole anymore, which parses its role once when the permission is created:
+     * overriding this method has no effect on permissions. Override hasRole to customize role interpolation.
+     */
+    @Deprecated
     protected String interpolateRole(String role, Map<String, String> roleInterpolationMap) {
-        Matcher matcher = ROLE_PARAM_INTERPOLATOR_REGEX.matcher(role);
-        StringBuffer interpolatedRole = new StringBuffer();
-        while(matcher.find()){
-            String interpolationVarName = matcher.group(1);
-            if(!roleInterpolationMap.containsKey(interpolationVarName)) {
-                throw new IllegalArgumentException(String.format("Variable <%s> not found in role interpolation map <%s>",
-                        interpolationVarName, roleInterpolationMap.toString()));
+        return RoleTemplate.compile(role).interpolate(roleInterpolationMap);
+    }
+
+    /**
+     * A role parsed in literal and variable segments.
+     */
+    private static final class RoleTemplate {
+        static RoleTemplate compile(String role) {
+            Matcher matcher = ROLE_PARAM_INTERPOLATOR_REGEX.matcher(role);
+            List<String> literals = new ArrayList<>();
+            List<String> variables = new ArrayList<>();
+            int end = 0;
+            while(matcher.find()){
+                literals.add(role.substring(end, matcher.start()));
+                variables.add(matcher.group(1));
+                end = matcher.end();
+            }
+            literals.add(role.substring(end));
+            return new RoleTemplate(role,
+                    literals.toArray(new String[literals.size()]), variables.toArray(new String[variables.size()]));
+        }
+
+        private final String role;
+        // literals surround variables, there is always one more literal than variables
+        private final String[] literals;
+        private final String[] variables;
+
+        private RoleTemplate(String role, String[] literals, String[] variables) {
+            this.role = role;
+            this.literals = literals;
+            this.variables = variables;
+        }
+
+        String interpolate(Map<String, String> roleInterpolationMap) {
+            if (variables.length == 0) {
+                return role;
+            }
+            StringBuilder interpolatedRole = new StringBuilder(role.length() + 16).append(literals[0]);
+            for (int i = 0; i < variables.length; i++) {
+                String value = roleInterpolationMap.get(variables[i]);
+                if (value == null && !roleInterpolationMap.containsKey(variables[i])) {
+                    throw new IllegalArgumentException(String.format("Variable <%s> not found in role interpolation map <%s>",
+                            variables[i], roleInterpolationMap.toString()));
+                }
+                interpolatedRole.append(value).append(literals[i + 1]);
             }
-            matcher.appendReplacement(interpolatedRole, roleInterpolationMap.get(interpolationVarName));
+            return interpolatedRole.toString();
         }
-        matcher.appendTail(interpolatedRole);
-        return interpolatedRole.toString();
     }
 
     /**
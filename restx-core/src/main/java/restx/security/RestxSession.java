@@ -74,6 +74,24 @@ public class RestxSession {
             Optional<? extends T> getValueForId(String valueId);
         }
 
+        /**
+         * A session definition entry able to load many values at once, for instance in a single db query.
+         *
+         * Cache managers may use it to load or warm up their caches for many value ids.
+         *
+         * @param <T> the type of values this Entry handles.
+         */
+        public static interface BulkEntry<T> extends Entry<T> {
+            /**
+             * Gives the values corresponding to the given valueIds.
+             *
+             * @param valueIds the ids of the values to get.
+             *
+             * @return the values found, by value id. Value ids for which no value is found are absent from the map.
+             */
+            Map<String, ? extends T> getValuesForIds(Iterable<String> valueIds);
+        }
+
         /**
          * A cached version of session definition entry.
          *
@@ -115,6 +133,16 @@ public class RestxSession {
              * This may impact more than this single entry if this entry cache is backed by a broader cache.
              */
             void invalidateCache();
+
+            /**
+             * Loads the values of the given ids which are not in cache yet, at once if possible (see BulkEntry).
+             *
+             * Does nothing by default, for cached entries which can't be warmed.
+             *
+             * @param valueIds the value ids to load in cache.
+             */
+            default void warm(Iterable<String> valueIds) {
+            }
         }
 
         /**
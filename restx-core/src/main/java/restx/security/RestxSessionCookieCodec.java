@@ -0,0 +1,60 @@
+package restx.security;
+
+import com.google.common.collect.ImmutableMap;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes the content of the restx session cookie: the session value ids by key, and the session
+ * expiry.
+ *
+ * The codec component is used to write session cookies. To read them RestxSessionCookieFilter tries this codec, then
+ * the built in JSON and binary codecs, so that cookies written with another codec are still valid after switching
+ * the codec, typically during a rolling upgrade. JSON cookies are read with RestxSessionCookieFilter.readEntries().
+ *
+ * The default codec is selected with restx.sessions.cookie.format setting, provide your own component with a higher
+ * priority to use another one.
+ */
+public interface RestxSessionCookieCodec {
+    /**
+     * Tells if this codec is able to decode the given cookie value, it doesn't need to check the cookie is valid.
+     *
+     * @param cookie the cookie value, signature has already been verified.
+     * @return true if the cookie uses this codec format.
+     */
+    boolean canDecode(String cookie);
+
+    Content decode(String cookie) throws IOException;
+
+    String encode(Content content) throws IOException;
+
+    /**
+     * The content of a session cookie.
+     */
+    final class Content {
+        private final ImmutableMap<String, String> valueidsByKey;
+        private final DateTime expires;
+
+        public Content(ImmutableMap<String, String> valueidsByKey, DateTime expires) {
+            this.valueidsByKey = valueidsByKey;
+            this.expires = expires;
+        }
+
+        public ImmutableMap<String, String> getValueidsByKey() {
+            return valueidsByKey;
+        }
+
+        public DateTime getExpires() {
+            return expires;
+        }
+
+        @Override
+        public String toString() {
+            return "Content{" +
+                    "valueidsByKey=" + valueidsByKey +
+                    ", expires=" + expires +
+                    '}';
+        }
+    }
+}
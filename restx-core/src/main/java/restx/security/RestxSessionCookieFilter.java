@@ -2,9 +2,9 @@ package restx.security;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 
 import com.google.common.base.Function;
@@ -13,10 +13,12 @@ import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
@@ -32,6 +34,9 @@ import restx.RestxRouteFilter;
 import restx.RouteLifecycleListener;
 import restx.StdRestxRequestMatch;
 import restx.WebException;
+import restx.common.metrics.api.Gauge;
+import restx.common.metrics.api.MetricRegistry;
+import restx.common.metrics.dummy.DummyMetricRegistry;
 import restx.factory.Component;
 import restx.factory.Name;
 import restx.http.HttpStatus;
@@ -39,13 +44,16 @@ import restx.jackson.FrontObjectMapperFactory;
 
 /**
  * This filter is used to store and get a RestxSession in Cookies (one for data, one for signature).
+ *
+ * Verified session cookies are kept in a bounded cache, so that a client sending the same session cookie again
+ * doesn't pay for signature verification and cookie parsing on each request. Hit rate of this cache is reported
+ * in the metrics registry.
  */
 @Component(priority = -200)
 public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler {
     public static final Name<RestxSessionCookieFilter> NAME = Name.of(RestxSessionCookieFilter.class, "RestxSessionCookieFilter");
 	public static final String COOKIE_SIGNER_NAME = "CookieSigner";
-
-    private static final String EXPIRES = "_expires";
+    private static final int DEFAULT_COOKIE_CACHE_SIZE = 1000;
 
     private final static Logger logger = LoggerFactory.getLogger(RestxSessionCookieFilter.class);
 
@@ -55,13 +63,63 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
     private final PermissionFactory permissionFactory;
     private final RestxSessionCookieDescriptor restxSessionCookieDescriptor;
     private final RestxSession emptySession;
+    // verified cookies, by signature and cookie value
+    private final Cache<String, VerifiedCookie> verifiedCookies;
+    // codec used to write cookies, and codecs able to read them
+    private final RestxSessionCookieCodec codec;
+    private final ImmutableList<RestxSessionCookieCodec> decoders;
 
+    /**
+     * Builds a filter with default settings: a cache of 1000 verified cookies, no metrics, and json cookies.
+     */
+	public RestxSessionCookieFilter(
+			RestxSession.Definition sessionDefinition,
+			ObjectMapper mapper,
+			Signer signer,
+            PermissionFactory permissionFactory,
+			RestxSessionCookieDescriptor restxSessionCookieDescriptor) {
+        this(sessionDefinition, mapper, signer, permissionFactory, restxSessionCookieDescriptor,
+                DEFAULT_COOKIE_CACHE_SIZE, new DummyMetricRegistry(), new JsonRestxSessionCookieCodec(mapper));
+    }
+
+    /**
+     * Builds a filter writing json cookies.
+     */
+	public RestxSessionCookieFilter(
+			RestxSession.Definition sessionDefinition,
+			ObjectMapper mapper,
+			Signer signer,
+            PermissionFactory permissionFactory,
+			RestxSessionCookieDescriptor restxSessionCookieDescriptor,
+            SecurityModule.SecuritySettings securitySettings,
+            MetricRegistry metrics) {
+        this(sessionDefinition, mapper, signer, permissionFactory, restxSessionCookieDescriptor,
+                securitySettings.sessionCookieCacheSize(), metrics, new JsonRestxSessionCookieCodec(mapper));
+    }
+
+    @Inject
 	public RestxSessionCookieFilter(
 			RestxSession.Definition sessionDefinition,
 			@Named(FrontObjectMapperFactory.MAPPER_NAME) ObjectMapper mapper,
 			@Named(COOKIE_SIGNER_NAME) Signer signer,
             PermissionFactory permissionFactory,
-			RestxSessionCookieDescriptor restxSessionCookieDescriptor) {
+			RestxSessionCookieDescriptor restxSessionCookieDescriptor,
+            SecurityModule.SecuritySettings securitySettings,
+            MetricRegistry metrics,
+            RestxSessionCookieCodec codec) {
+        this(sessionDefinition, mapper, signer, permissionFactory, restxSessionCookieDescriptor,
+                securitySettings.sessionCookieCacheSize(), metrics, codec);
+    }
+
+	private RestxSessionCookieFilter(
+			RestxSession.Definition sessionDefinition,
+			ObjectMapper mapper,
+			Signer signer,
+            PermissionFactory permissionFactory,
+			RestxSessionCookieDescriptor restxSessionCookieDescriptor,
+            int cookieCacheSize,
+            MetricRegistry metrics,
+            RestxSessionCookieCodec codec) {
 
 		this.sessionDefinition = sessionDefinition;
 		this.mapper = mapper;
@@ -70,6 +128,25 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
         this.restxSessionCookieDescriptor = restxSessionCookieDescriptor;
 		this.emptySession = new RestxSession(sessionDefinition, ImmutableMap.<String, String>of(),
 				Optional.<RestxPrincipal>absent(), Duration.ZERO);
+        this.codec = codec;
+        this.decoders = ImmutableList.of(codec,
+                new JsonRestxSessionCookieCodec(mapper), new BinaryRestxSessionCookieCodec(sessionDefinition));
+        this.verifiedCookies = CacheBuilder.newBuilder()
+                .maximumSize(cookieCacheSize)
+                .recordStats()
+                .build();
+        metrics.gauge("<SessionCookieCache> hitRate", new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+                return verifiedCookies.stats().hitRate();
+            }
+        });
+        metrics.gauge("<SessionCookieCache> size", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return verifiedCookies.size();
+            }
+        });
 	}
 
     @Override
@@ -125,18 +202,17 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
                         }
                     })
                     .or("");
-			if (!signer.verify(cookie, sig)) {
-				logger.warn("invalid restx session signature. session was: {}. Ignoring session cookie.", cookie);
+            VerifiedCookie verifiedCookie = verify(cookie, sig);
+            if (verifiedCookie == null) {
                 return emptySession;
             }
-            Map<String, String> entries = readEntries(cookie);
-            DateTime expires = DateTime.parse(entries.remove(EXPIRES));
+            DateTime expires = verifiedCookie.expires;
             if (expires.isBeforeNow()) {
                 return emptySession;
             }
 
             Duration expiration = req.isPersistentCookie(restxSessionCookieName) ? new Duration(DateTime.now(), expires) : Duration.ZERO;
-            ImmutableMap<String, String> valueidsByKey = ImmutableMap.copyOf(entries);
+            ImmutableMap<String, String> valueidsByKey = verifiedCookie.entries;
             String principalName = valueidsByKey.get(RestxPrincipal.SESSION_DEF_KEY);
             Optional<RestxPrincipal> principalOptional = RestxSession.getValue(
                     sessionDefinition, RestxPrincipal.class, RestxPrincipal.SESSION_DEF_KEY, principalName);
@@ -145,6 +221,7 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
                 Optional<String> su = req.getHeader("RestxSu");
                 if (su.isPresent() && !Strings.isNullOrEmpty(su.get())) {
                     try {
+                        Map<String, String> entries = Maps.newLinkedHashMap(valueidsByKey);
                         entries.putAll(readEntries(su.get()));
                         valueidsByKey = ImmutableMap.copyOf(entries);
                         principalName = valueidsByKey.get(RestxPrincipal.SESSION_DEF_KEY);
@@ -161,6 +238,49 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
         }
     }
 
+    private VerifiedCookie verify(String cookie, String sig) throws IOException {
+        String key = sig + ':' + cookie;
+        VerifiedCookie verifiedCookie = verifiedCookies.getIfPresent(key);
+        if (verifiedCookie != null) {
+            return verifiedCookie;
+        }
+
+        if (!signer.verify(cookie, sig)) {
+            // invalid cookies are not cached, clients are not supposed to send them again
+            logger.warn("invalid restx session signature. session was: {}. Ignoring session cookie.", cookie);
+            return null;
+        }
+        RestxSessionCookieCodec.Content content = readCookie(cookie);
+        verifiedCookie = new VerifiedCookie(content.getValueidsByKey(), content.getExpires());
+        verifiedCookies.put(key, verifiedCookie);
+        return verifiedCookie;
+    }
+
+    /*
+     * JSON cookies are read with readEntries(), as they have always been, so that subclasses overriding it still
+     * read them. Cookies in other formats are read by the first codec able to decode them.
+     */
+    private RestxSessionCookieCodec.Content readCookie(String cookie) throws IOException {
+        for (RestxSessionCookieCodec decoder : decoders) {
+            if (decoder.canDecode(cookie)) {
+                if (!(decoder instanceof JsonRestxSessionCookieCodec)) {
+                    return decoder.decode(cookie);
+                }
+                Map<String, String> entries = Maps.newLinkedHashMap(readEntries(cookie));
+                String expires = entries.remove(JsonRestxSessionCookieCodec.EXPIRES);
+                if (expires == null) {
+                    throw new IOException(
+                            "invalid restx session, " + JsonRestxSessionCookieCodec.EXPIRES + " is missing: " + cookie);
+                }
+                return new RestxSessionCookieCodec.Content(ImmutableMap.copyOf(entries), DateTime.parse(expires));
+            }
+        }
+        throw new IOException("unknown restx session format: " + cookie);
+    }
+
+    /**
+     * Reads the entries of a JSON session cookie, with its expiry under the _expires key, or of a RestxSu header.
+     */
     @SuppressWarnings("unchecked")
     protected Map<String, String> readEntries(String cookie) throws IOException {
         return mapper.readValue(cookie, Map.class);
@@ -185,13 +305,12 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
             if (sessionMap.isEmpty()) {
                 return ImmutableMap.of();
             } else {
-                HashMap<String,String> map = Maps.newHashMap(sessionMap);
-                map.put(EXPIRES, DateTime.now().plusDays(30).toString());
-                String sessionJson = mapper.writeValueAsString(map);
-                return ImmutableMap.of(restxSessionCookieDescriptor.getCookieName(), sessionJson,
-						restxSessionCookieDescriptor.getCookieSignatureName(), signer.sign(sessionJson));
+                String sessionCookie = codec.encode(
+                        new RestxSessionCookieCodec.Content(sessionMap, DateTime.now().plusDays(30)));
+                return ImmutableMap.of(restxSessionCookieDescriptor.getCookieName(), sessionCookie,
+						restxSessionCookieDescriptor.getCookieSignatureName(), signer.sign(sessionCookie));
 			}
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
@@ -199,4 +318,14 @@ public class RestxSessionCookieFilter implements RestxRouteFilter, RestxHandler
     public String toString() {
         return "RestxSessionCookieFilter";
     }
+
+    private static final class VerifiedCookie {
+        private final ImmutableMap<String, String> entries;
+        private final DateTime expires;
+
+        private VerifiedCookie(ImmutableMap<String, String> entries, DateTime expires) {
+            this.entries = entries;
+            this.expires = expires;
+        }
+    }
 }
@@ -1,10 +1,12 @@
 package restx.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import restx.AppSettings;
 import restx.RestxContext;
 import restx.RestxHandler;
 import restx.RestxHandlerMatch;
@@ -15,12 +17,14 @@ import restx.RestxRoute;
 import restx.StdRestxRequestMatch;
 import restx.WebException;
 import restx.common.RestxConfig;
+import restx.common.metrics.api.MetricRegistry;
 import restx.config.SettingsKey;
 import restx.factory.AutoStartable;
 import restx.factory.Module;
 import restx.factory.Provides;
 import restx.factory.When;
 import restx.http.HttpStatus;
+import restx.jackson.FrontObjectMapperFactory;
 import restx.security.RestxSession.Definition.EntryCacheManager;
 
 import javax.inject.Named;
@@ -39,6 +43,51 @@ public class SecurityModule {
                 doc = "The maximum number of sessions data to keep in memory for statistics in the monitor view")
         int sessionsLimit();
 
+        @SettingsKey(key = "restx.sessions.cookie.cache.size", defaultValue = "1000",
+                doc = "The maximum number of verified session cookies to keep in memory, " +
+                        "so that requests with the same session cookie don't verify and parse it again. 0 to disable")
+        int sessionCookieCacheSize();
+
+        @SettingsKey(key = "restx.sessions.cookie.format", defaultValue = "json",
+                doc = "The format used to write session cookies: json or binary. " +
+                        "Cookies in any of these formats are accepted, whatever the setting")
+        String sessionCookieFormat();
+
+        @SettingsKey(key = "restx.sessions.cache.size", defaultValue = "1000",
+                doc = "The maximum number of values to keep in cache for each session definition entry")
+        long sessionsCacheSize();
+
+        @SettingsKey(key = "restx.sessions.cache.expireAfterWrite", defaultValue = "0",
+                doc = "The duration in seconds after which session values are evicted from cache, 0 for no expiry")
+        long sessionsCacheExpireAfterWrite();
+
+        @SettingsKey(key = "restx.sessions.cache.refreshAfterWrite", defaultValue = "0",
+                doc = "The duration in seconds after which session values are reloaded in background when accessed, " +
+                        "0 for no refresh")
+        long sessionsCacheRefreshAfterWrite();
+
+        @SettingsKey(key = "restx.sessions.cache.reload.threads", defaultValue = "2",
+                doc = "The number of threads used to reload session values in background")
+        int sessionsCacheReloadThreads();
+
+        @SettingsKey(key = "restx.sessions.invalidation.bus", defaultValue = "none",
+                doc = "The bus used to broadcast session cache invalidations: none, local to share them between all " +
+                        "the factories of the JVM, or multicast to send them to other nodes with UDP multicast, which " +
+                        "requires a signature key shared by all the nodes")
+        String sessionsInvalidationBus();
+
+        @SettingsKey(key = "restx.sessions.invalidation.multicast.group", defaultValue = "239.255.27.1",
+                doc = "The multicast group address used to broadcast session cache invalidations")
+        String sessionsInvalidationMulticastGroup();
+
+        @SettingsKey(key = "restx.sessions.invalidation.multicast.port", defaultValue = "4446",
+                doc = "The UDP port used to broadcast session cache invalidations")
+        int sessionsInvalidationMulticastPort();
+
+        @SettingsKey(key = "restx.sessions.invalidation.multicast.interface",
+                doc = "The name or the address of the network interface used to broadcast session cache " +
+                        "invalidations. The one chosen by the system if not set")
+        Optional<String> sessionsInvalidationMulticastInterface();
     }
 
     @Provides
@@ -72,12 +121,113 @@ public class SecurityModule {
             public int sessionsLimit() {
                 return config.getInt("restx.sessions.stats.limit").or(100);
             }
+
+            @Override
+            public int sessionCookieCacheSize() {
+                return config.getInt("restx.sessions.cookie.cache.size").or(1000);
+            }
+
+            @Override
+            public String sessionCookieFormat() {
+                return config.getString("restx.sessions.cookie.format").or("json");
+            }
+
+            @Override
+            public long sessionsCacheSize() {
+                return config.getLong("restx.sessions.cache.size").or(1000L);
+            }
+
+            @Override
+            public long sessionsCacheExpireAfterWrite() {
+                return config.getLong("restx.sessions.cache.expireAfterWrite").or(0L);
+            }
+
+            @Override
+            public long sessionsCacheRefreshAfterWrite() {
+                return config.getLong("restx.sessions.cache.refreshAfterWrite").or(0L);
+            }
+
+            @Override
+            public int sessionsCacheReloadThreads() {
+                return config.getInt("restx.sessions.cache.reload.threads").or(2);
+            }
+
+            @Override
+            public String sessionsInvalidationBus() {
+                return config.getString("restx.sessions.invalidation.bus").or("none");
+            }
+
+            @Override
+            public String sessionsInvalidationMulticastGroup() {
+                return config.getString("restx.sessions.invalidation.multicast.group").or("239.255.27.1");
+            }
+
+            @Override
+            public int sessionsInvalidationMulticastPort() {
+                return config.getInt("restx.sessions.invalidation.multicast.port").or(4446);
+            }
+
+            @Override
+            public Optional<String> sessionsInvalidationMulticastInterface() {
+                return config.getString("restx.sessions.invalidation.multicast.interface");
+            }
         };
     }
 
+    @Provides
+    public RestxSessionCookieCodec restxSessionCookieCodec(SecuritySettings settings,
+                                                           RestxSession.Definition sessionDefinition,
+                                                           @Named(FrontObjectMapperFactory.MAPPER_NAME) ObjectMapper mapper) {
+        String format = settings.sessionCookieFormat();
+        if ("binary".equalsIgnoreCase(format)) {
+            return new BinaryRestxSessionCookieCodec(sessionDefinition);
+        } else if ("json".equalsIgnoreCase(format)) {
+            return new JsonRestxSessionCookieCodec(mapper);
+        } else {
+            throw new IllegalStateException(
+                    "invalid restx.sessions.cookie.format '" + format + "', valid values are json and binary");
+        }
+    }
+
+    /*
+     * The multicast bus is only used in PROD: in other modes factories may be built for each request, and each one
+     * would open its own socket and receiver thread. The JVM bus is used instead, so that invalidations are still
+     * shared between factories.
+     */
+    @Provides
+    public SessionInvalidationBus sessionInvalidationBus(SecuritySettings settings, AppSettings appSettings,
+                                                         Optional<SignatureKey> signatureKey) throws IOException {
+        String bus = settings.sessionsInvalidationBus();
+        if ("none".equalsIgnoreCase(bus)) {
+            // a bus of its own: invalidations don't go further than this factory
+            return new LocalSessionInvalidationBus();
+        } else if ("local".equalsIgnoreCase(bus)) {
+            return LocalSessionInvalidationBus.jvm();
+        } else if ("multicast".equalsIgnoreCase(bus)) {
+            if (!RestxContext.Modes.PROD.equals(appSettings.mode())) {
+                logger.debug("multicast session invalidation bus not used in {} mode, using local bus",
+                        appSettings.mode());
+                return LocalSessionInvalidationBus.jvm();
+            }
+            if (!signatureKey.isPresent()) {
+                // the default key is public, anyone on the network could forge invalidations with it
+                logger.error("multicast session invalidation bus requires a signature key shared by all the nodes," +
+                        " using local bus: session invalidations are NOT broadcast to other nodes");
+                return LocalSessionInvalidationBus.jvm();
+            }
+            return new MulticastSessionInvalidationBus(
+                    settings.sessionsInvalidationMulticastGroup(), settings.sessionsInvalidationMulticastPort(),
+                    settings.sessionsInvalidationMulticastInterface(), signatureKey.get());
+        } else {
+            throw new IllegalStateException(
+                    "invalid restx.sessions.invalidation.bus '" + bus + "', valid values are none, local and multicast");
+        }
+    }
+
     @Provides @Named(ENTRY_CACHE_MANAGER)
-    public EntryCacheManager guavaCacheManager() {
-        return new GuavaEntryCacheManager();
+    public EntryCacheManager guavaCacheManager(SecuritySettings settings, MetricRegistry metrics,
+                                               SessionInvalidationBus invalidationBus) {
+        return new BroadcastingEntryCacheManager(new GuavaEntryCacheManager(settings, metrics), invalidationBus);
     }
 
     @Provides(priority = 100000)
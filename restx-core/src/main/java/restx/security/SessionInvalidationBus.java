@@ -0,0 +1,81 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+
+/**
+ * A bus broadcasting session definition cache invalidations, so that every EntryCacheManager sharing it evicts the
+ * invalidated values, possibly on other nodes.
+ *
+ * See BroadcastingEntryCacheManager which publishes and applies invalidations, and SecurityModule which provides
+ * the bus according to the restx.sessions.invalidation.bus setting.
+ */
+public interface SessionInvalidationBus {
+    /**
+     * Broadcasts an invalidation to all the listeners of this bus, except its source.
+     *
+     * @param source the listener publishing the invalidation, which is expected to have applied it already.
+     * @param invalidation the invalidation to broadcast.
+     */
+    void publish(Listener source, Invalidation invalidation);
+
+    void subscribe(Listener listener);
+
+    void unsubscribe(Listener listener);
+
+    public static interface Listener {
+        void onInvalidation(Invalidation invalidation);
+    }
+
+    /**
+     * An invalidation of a single value id of a session definition entry, or of all its values.
+     */
+    public static final class Invalidation {
+        public static Invalidation of(String entryKey, String valueId) {
+            return new Invalidation(entryKey, Optional.of(valueId));
+        }
+
+        public static Invalidation all(String entryKey) {
+            return new Invalidation(entryKey, Optional.<String>absent());
+        }
+
+        private final String entryKey;
+        private final Optional<String> valueId;
+
+        private Invalidation(String entryKey, Optional<String> valueId) {
+            this.entryKey = entryKey;
+            this.valueId = valueId;
+        }
+
+        public String getEntryKey() {
+            return entryKey;
+        }
+
+        /**
+         * @return the invalidated value id, or absent if all the values of the entry are invalidated.
+         */
+        public Optional<String> getValueId() {
+            return valueId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Invalidation that = (Invalidation) o;
+            return entryKey.equals(that.entryKey) && valueId.equals(that.valueId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entryKey.hashCode() + valueId.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Invalidation{" +
+                    "entryKey='" + entryKey + '\'' +
+                    ", valueId=" + valueId +
+                    '}';
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package restx.security;
 
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Ordering;
 
-import java.util.concurrent.ConcurrentMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -90,63 +93,79 @@ public class Sessions {
 
     }
 
-    private final ConcurrentMap<String, SessionData> sessions = Maps.newConcurrentMap();
-    private final int limit;
+    /**
+     * The mutable access data of a session, counters are updated in place so that touching a session doesn't
+     * replace it in the cache.
+     */
+    private static final class SessionAccess {
+        private final String key;
+        private final long firstAccess;
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long lastAccess;
+        private volatile long lastAccessNano;
+        private volatile ImmutableMap<String, String> metadata;
+
+        private SessionAccess(String key, long firstAccess) {
+            this.key = key;
+            this.firstAccess = firstAccess;
+            this.lastAccess = firstAccess;
+            this.lastAccessNano = System.nanoTime();
+            this.metadata = ImmutableMap.of();
+        }
+
+        private SessionData touch(ImmutableMap<String, String> metadata) {
+            long access = System.currentTimeMillis();
+            long accessNano = System.nanoTime();
+            this.metadata = metadata;
+            this.lastAccess = access;
+            this.lastAccessNano = accessNano;
+            return new SessionData(key, firstAccess, access, accessNano, count.incrementAndGet(), metadata);
+        }
+
+        private SessionData toSessionData() {
+            return new SessionData(key, firstAccess, lastAccess, lastAccessNano, count.get(), metadata);
+        }
+    }
+
+    /*
+     * Guava cache evicts the least recently used sessions in constant time when the limit is exceeded, and stripes
+     * its segments to limit contention. LRU order is maintained per segment, so with a large limit the evicted
+     * session may not be the oldest of all sessions, but one of the oldest.
+     */
+    private final Cache<String, SessionAccess> sessions;
 
     public Sessions(int limit) {
-        this.limit = limit;
+        this.sessions = CacheBuilder.newBuilder().maximumSize(limit).build();
     }
 
     public Optional<SessionData> get(String key) {
-        return Optional.fromNullable(sessions.get(key));
+        SessionAccess access = sessions.asMap().get(key);
+        return access == null ? Optional.<SessionData>absent() : Optional.of(access.toSessionData());
     }
 
     public ImmutableMap<String, SessionData> getAll() {
-        return ImmutableMap.copyOf(sessions);
+        ImmutableMap.Builder<String, SessionData> all = ImmutableMap.builder();
+        for (Map.Entry<String, SessionAccess> entry : sessions.asMap().entrySet()) {
+            all.put(entry.getKey(), entry.getValue().toSessionData());
+        }
+        return all.build();
     }
 
-    public SessionData touch(String key, ImmutableMap<String, String> metadata) {
-        boolean updated = false;
-        SessionData updatedSessionData;
-        do {
-            SessionData sessionData;
-            sessionData = sessions.get(key);
-            if (sessionData != null) {
-                updatedSessionData = sessionData.touch(metadata);
-            } else {
-                long access = System.currentTimeMillis();
-                updatedSessionData = new SessionData(key, access, access, System.nanoTime(), 1, metadata);
-            }
-
-            updated = sessions.put(key, updatedSessionData) == sessionData;
-        } while (!updated);
-
-        // take size under limit
-        // note that it may exceed the limit for a short time until the following code completes
-        int size = sessions.size();
-        int remainingChecks = (size - limit) * 3 + 100;
-        while (sessions.size() > limit) {
-            if (remainingChecks-- == 0) {
-                // we have tried too many times to remove exceeding elements.
-                // the possible cause is that oldest element is always updated between we find it and try to remove it
-                // this is very unlikely but it's better to fail than run into an infinite loop
-
-                throw new IllegalStateException(
-                        String.format(
-                                "didn't manage to limit the size of sessions data within a reasonnable (%d) number of attempts",
-                                (size - limit) * 3 + 100));
-            }
-            SessionData oldest = Ordering.natural().leastOf(sessions.values(), 1).get(0);
-
-            // we check if we still need to remove an element, the sessions may have changed while we were
-            // looking for the oldest element
-            if (sessions.size() > limit) {
-                // we remove it only if it hasn't changed. If it changed the remove method of ConcurrentMap won't
-                // remove it, and we will go on with the while loop
-                sessions.remove(oldest.getKey(), oldest);
+    public SessionData touch(final String key, ImmutableMap<String, String> metadata) {
+        SessionAccess access = sessions.getIfPresent(key);
+        if (access == null) {
+            try {
+                access = sessions.get(key, new Callable<SessionAccess>() {
+                    @Override
+                    public SessionAccess call() throws Exception {
+                        return new SessionAccess(key, System.currentTimeMillis());
+                    }
+                });
+            } catch (ExecutionException e) {
+                // can't happen, creating a session access doesn't throw any exception
+                throw new IllegalStateException(e);
             }
         }
-
-        return updatedSessionData;
+        return access.touch(metadata);
     }
 }
@@ -1,5 +1,7 @@
 package restx.security;
 
+import restx.common.Crypto;
+
 /**
  * User: xavierhanin
  * Date: 1/30/13
@@ -8,12 +10,31 @@ package restx.security;
 public class SignatureKey {
     public static final SignatureKey DEFAULT = new SignatureKey("this is the default signature key".getBytes());
     private final byte[] key;
+    private final String algorithm;
 
+    /**
+     * Creates a key used with HMAC-SHA1 algorithm.
+     */
     public SignatureKey(byte[] key) {
+        this(key, Crypto.HMAC_SHA1);
+    }
+
+    /**
+     * Creates a key used with the given HMAC algorithm, such as Crypto.HMAC_SHA256.
+     *
+     * Note that changing the algorithm invalidates all the signatures made with the previous one, such as the
+     * signatures of restx session cookies.
+     */
+    public SignatureKey(byte[] key, String algorithm) {
         this.key = key;
+        this.algorithm = algorithm;
     }
 
     public byte[] getKey() {
         return key;
     }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
 }
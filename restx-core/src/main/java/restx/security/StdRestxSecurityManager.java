@@ -2,6 +2,7 @@ package restx.security;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.base.Predicates;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import org.slf4j.Logger;
@@ -12,9 +13,11 @@ import restx.RestxRequest;
 import restx.WebException;
 import restx.factory.Component;
 
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A simple implementation of security manager which throws 401 WebException if
@@ -54,25 +57,72 @@ public class StdRestxSecurityManager implements RestxSecurityManager {
         throw new WebException(HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Gives the variables available to interpolate roles: query params and path params, path params taking
+     * precedence.
+     *
+     * The returned map is a view on the request: values are looked up only when a role references them, so
+     * nothing is computed for routes whose roles don't use interpolation.
+     */
     protected Map<String, String> createRoleInterpolationMapFrom(RestxRequest request, RestxRequestMatch match) {
-        Map<String, String> roleInterpolationMap = new HashMap<>();
-
-        if(request != null) {
-            // When we have more than 1 query param value for a given key, subjectively keeping only the first one
-            // I don't think these multi-values query params should be taken into consideration when interpolating roles
-            // but I don't want to remove it from interpolation map either "if values.size()>1"
-            roleInterpolationMap.putAll(Maps.transformValues(request.getQueryParams(), new Function<List<String>, String>(){
-                @Override
-                public String apply(List<String> input) {
-                    return Iterables.getFirst(input, null);
+        return new RoleInterpolationMap(request, match);
+    }
+
+    private static final class RoleInterpolationMap extends AbstractMap<String, String> {
+        private final RestxRequest request;
+        private final RestxRequestMatch match;
+
+        private RoleInterpolationMap(RestxRequest request, RestxRequestMatch match) {
+            this.request = request;
+            this.match = match;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            if (match != null) {
+                Optional<String> value = match.findPathParam((String) key);
+                if (value.isPresent()) {
+                    return value.get();
                 }
-            }));
+            }
+            if (request != null) {
+                // When we have more than 1 query param value for a given key, subjectively keeping only the first one
+                List<String> values = request.getQueryParams((String) key);
+                return values == null ? null : Iterables.getFirst(values, null);
+            }
+            return null;
         }
 
-        if(match != null) {
-            roleInterpolationMap.putAll(match.getPathParams());
+        // variables without value are not part of the map, so looking the value up is enough
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
         }
 
-        return roleInterpolationMap;
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            Map<String, String> roleInterpolationMap = new HashMap<>();
+
+            if(request != null) {
+                // values of query params without value are null, they are not kept to be consistent with containsKey
+                // I don't think multi-values query params should be taken into consideration when interpolating roles
+                // but I don't want to remove it from interpolation map either "if values.size()>1"
+                roleInterpolationMap.putAll(Maps.filterValues(Maps.transformValues(request.getQueryParams(), new Function<List<String>, String>(){
+                    @Override
+                    public String apply(List<String> input) {
+                        return Iterables.getFirst(input, null);
+                    }
+                }), Predicates.notNull()));
+            }
+
+            if(match != null) {
+                roleInterpolationMap.putAll(match.getPathParams());
+            }
+
+            return roleInterpolationMap.entrySet();
+        }
     }
 }
@@ -0,0 +1,52 @@
+package restx.server;
+
+import com.google.common.base.Optional;
+import restx.config.SettingsKey;
+
+/**
+ * Tuning of the connectors of embedded web servers.
+ *
+ * Settings which a server doesn't support are ignored by it, see JettyWebServer and TomcatWebServer.
+ */
+public interface ServerSettings {
+    @SettingsKey(key = "restx.server.threads",
+            doc = "The maximum number of request threads, or 'virtual' to handle requests on virtual threads. " +
+                    "Server default if not set")
+    Optional<String> threads();
+
+    @SettingsKey(key = "restx.server.acceptors", defaultValue = "-1",
+            doc = "The number of acceptor threads, -1 for server default")
+    int acceptors();
+
+    @SettingsKey(key = "restx.server.selectors", defaultValue = "-1",
+            doc = "The number of selector threads, -1 for server default")
+    int selectors();
+
+    @SettingsKey(key = "restx.server.acceptQueueSize", defaultValue = "0",
+            doc = "The size of the queue of connections waiting to be accepted, 0 for server default")
+    int acceptQueueSize();
+
+    @SettingsKey(key = "restx.server.idleTimeout", defaultValue = "30000",
+            doc = "The duration in milliseconds after which idle connections are closed")
+    long idleTimeout();
+
+    @SettingsKey(key = "restx.server.requestHeaderSize", defaultValue = "8192",
+            doc = "The maximum size in bytes of request headers")
+    int requestHeaderSize();
+
+    @SettingsKey(key = "restx.server.outputBufferSize", defaultValue = "32768",
+            doc = "The size in bytes of the response output buffer")
+    int outputBufferSize();
+
+    @SettingsKey(key = "restx.server.inputBufferSize", defaultValue = "16384",
+            doc = "The size in bytes of request content kept in memory, larger content is spooled to disk")
+    int inputBufferSize();
+
+    @SettingsKey(key = "restx.server.stopTimeout", defaultValue = "30000",
+            doc = "The maximum duration in milliseconds to wait for running requests when the server is stopped")
+    long stopTimeout();
+
+    @SettingsKey(key = "restx.server.h2c", defaultValue = "false",
+            doc = "true to accept cleartext HTTP/2 (h2c) on the server port, in addition to HTTP/1.1")
+    boolean h2c();
+}
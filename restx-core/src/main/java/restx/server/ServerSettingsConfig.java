@@ -0,0 +1,84 @@
+package restx.server;
+
+import com.google.common.base.Optional;
+import restx.common.ConfigElement;
+import restx.common.RestxConfig;
+import restx.common.StdRestxConfig;
+import restx.factory.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ */
+@Component(priority = 1000)
+public class ServerSettingsConfig implements ServerSettings {
+    /**
+     * Server settings read from system properties, for servers created without a factory.
+     */
+    public static ServerSettings fromSystemProperties() {
+        List<ConfigElement> elements = new ArrayList<>();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("restx.server.")) {
+                elements.add(ConfigElement.of("system", "", key, System.getProperty(key)));
+            }
+        }
+        return new ServerSettingsConfig(StdRestxConfig.of(elements));
+    }
+
+    private final RestxConfig config;
+
+    public ServerSettingsConfig(RestxConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public Optional<String> threads() {
+        return config.getString("restx.server.threads");
+    }
+
+    @Override
+    public int acceptors() {
+        return config.getInt("restx.server.acceptors").or(-1);
+    }
+
+    @Override
+    public int selectors() {
+        return config.getInt("restx.server.selectors").or(-1);
+    }
+
+    @Override
+    public int acceptQueueSize() {
+        return config.getInt("restx.server.acceptQueueSize").or(0);
+    }
+
+    @Override
+    public long idleTimeout() {
+        return config.getLong("restx.server.idleTimeout").or(30000L);
+    }
+
+    @Override
+    public int requestHeaderSize() {
+        return config.getInt("restx.server.requestHeaderSize").or(8192);
+    }
+
+    @Override
+    public int outputBufferSize() {
+        return config.getInt("restx.server.outputBufferSize").or(32768);
+    }
+
+    @Override
+    public int inputBufferSize() {
+        return config.getInt("restx.server.inputBufferSize").or(16384);
+    }
+
+    @Override
+    public long stopTimeout() {
+        return config.getLong("restx.server.stopTimeout").or(30000L);
+    }
+
+    @Override
+    public boolean h2c() {
+        return config.getBoolean("restx.server.h2c").or(Boolean.FALSE);
+    }
+}
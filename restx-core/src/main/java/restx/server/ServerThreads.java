@@ -0,0 +1,75 @@
+package restx.server;
+
+import com.google.common.base.Optional;
+
+/**
+ * The threads used by embedded web servers to handle requests, configured with the restx.server.threads setting
+ * (see ServerSettings):
+ * <ul>
+ *     <li>when not set, the server default thread pool is used</li>
+ *     <li>a number sets the maximum number of request threads of the server pool</li>
+ *     <li>
+ *         <code>virtual</code> runs requests on virtual threads, which suits endpoints blocking on I/O. Virtual
+ *         threads require Java 21, on older JVMs a warning is logged and the default pool is used.
+ *     </li>
+ * </ul>
+ *
+ * Restx thread locals (RestxSession.current(), MDC, ThreadLocalMillisProvider) are cleared or reset at the end of
+ * each request, so they are safe with virtual threads, which are not reused from one request to another.
+ */
+public final class ServerThreads {
+    public static final String THREADS_PROPERTY = "restx.server.threads";
+    public static final String VIRTUAL = "virtual";
+
+    public static ServerThreads fromSystemProperties() {
+        return of(System.getProperty(THREADS_PROPERTY));
+    }
+
+    public static ServerThreads from(ServerSettings settings) {
+        return of(settings.threads().orNull());
+    }
+
+    public static ServerThreads of(String threads) {
+        if (threads == null || threads.trim().isEmpty()) {
+            return new ServerThreads(false, Optional.<Integer>absent());
+        }
+        if (VIRTUAL.equalsIgnoreCase(threads.trim())) {
+            return new ServerThreads(true, Optional.<Integer>absent());
+        }
+        try {
+            return new ServerThreads(false, Optional.of(Integer.parseInt(threads.trim())));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "invalid " + THREADS_PROPERTY + " '" + threads + "': it must be a number of threads or "
+                            + VIRTUAL);
+        }
+    }
+
+    /**
+     * @return true if the JVM supports virtual threads.
+     */
+    public static boolean areVirtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    private final boolean virtual;
+    private final Optional<Integer> maxThreads;
+
+    private ServerThreads(boolean virtual, Optional<Integer> maxThreads) {
+        this.virtual = virtual;
+        this.maxThreads = maxThreads;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public Optional<Integer> getMaxThreads() {
+        return maxThreads;
+    }
+
+    @Override
+    public String toString() {
+        return virtual ? VIRTUAL : maxThreads.isPresent() ? String.valueOf(maxThreads.get()) : "default";
+    }
+}
@@ -36,6 +36,129 @@ public class RestxRoutingTest {
                 .containsExactly("RF1", "F1", "RF2", "ROUTE");
     }
 
+    @Test
+    public void should_match_first_declared_route() throws Exception {
+        RestxRouting routing = new RestxRouting(
+                ImmutableList.<NamedComponent<RestxFilter>>of(),
+                ImmutableList.<NamedComponent<RestxRouteFilter>>of(),
+                ImmutableList.<RestxRoute>of(
+                        new TestRoute("user", "GET", "/users/{id}"),
+                        new TestRoute("me", "GET", "/users/me"),
+                        new TestRoute("userChildren", "GET", "/users/:id/children"),
+                        new TestRoute("userJson", "GET", "/users/{id}.json"),
+                        new TestRoute("userPost", "POST", "/users/{id}"),
+                        new TestRoute("file", "GET", "/files/{path:.*}"),
+                        new TestRoute("versionedUser", "GET", "/v1.0/users/{id:\\d+}"),
+                        new TestRoute("root", "GET", "/")
+                ));
+
+        assertThat(matchedRoute(routing, "GET", "/users/me")).isEqualTo("user");
+        assertThat(matchedRoute(routing, "GET", "/users/12/children")).isEqualTo("userChildren");
+        assertThat(matchedRoute(routing, "GET", "/users/12/children/")).isNull();
+        assertThat(matchedRoute(routing, "GET", "/users//children")).isNull();
+        assertThat(matchedRoute(routing, "GET", "/users/12.json")).isEqualTo("user");
+        assertThat(matchedRoute(routing, "POST", "/users/12")).isEqualTo("userPost");
+        assertThat(matchedRoute(routing, "PUT", "/users/12")).isNull();
+        assertThat(matchedRoute(routing, "GET", "/files/a/b/c.txt")).isEqualTo("file");
+        assertThat(matchedRoute(routing, "GET", "/v1.0/users/12")).isEqualTo("versionedUser");
+        assertThat(matchedRoute(routing, "GET", "/v1.0/users/john")).isNull();
+        assertThat(matchedRoute(routing, "GET", "/")).isEqualTo("root");
+        assertThat(matchedRoute(routing, "GET", "")).isNull();
+    }
+
+    @Test
+    public void should_probe_non_indexable_routes_in_declaration_order() throws Exception {
+        RestxRoute catchAll = new RestxRoute() {
+            @Override
+            public Optional<RestxHandlerMatch> match(RestxRequest req) {
+                return RestxHandlerMatch.of(Optional.of(new StdRestxRequestMatch(req.getRestxPath())),
+                        new TestRoute("catchAll", "GET", "/"));
+            }
+        };
+        RestxRouting routing = new RestxRouting(
+                ImmutableList.<NamedComponent<RestxFilter>>of(),
+                ImmutableList.<NamedComponent<RestxRouteFilter>>of(),
+                ImmutableList.of(
+                        new TestRoute("user", "GET", "/users/{id}"),
+                        catchAll,
+                        new TestRoute("me", "GET", "/users/me")
+                ));
+
+        assertThat(matchedRoute(routing, "GET", "/users/me")).isEqualTo("user");
+        assertThat(matchedRoute(routing, "GET", "/users")).isEqualTo("catchAll");
+        assertThat(matchedRoute(routing, "DELETE", "/users/me")).isEqualTo("catchAll");
+    }
+
+    @Test
+    public void should_resolve_static_filters_when_wiring() throws Exception {
+        TestStaticFilter staticFilter = new TestStaticFilter("SF1");
+        RestxRouting routing = new RestxRouting(
+                ImmutableList.of(
+                        NamedComponent.of(RestxFilter.class, "F1", 0, new TestFilter("F1")),
+                        NamedComponent.<RestxFilter>of(RestxFilter.class, "SF1", -5, staticFilter)),
+                ImmutableList.of(
+                        NamedComponent.of(RestxRouteFilter.class, "RF1", -10, new TestRouteFilter("RF1"))
+                ),
+                ImmutableList.<RestxRoute>of(ROUTE, new TestRoute("dynamic", "GET", "/dynamic"))
+        );
+
+        Optional<Match> m = routing.match(StdRequest.builder()
+                .setHttpMethod("GET").setRestxPath("/test").setBaseUri("http://localhost/api").build());
+        assertThat(m.get().getMatches()).extracting("handler.name")
+                .containsExactly("RF1", "SF1", "F1", "ROUTE");
+
+        m = routing.match(StdRequest.builder()
+                .setHttpMethod("GET").setRestxPath("/dynamic").setBaseUri("http://localhost/api").build());
+        assertThat(m.get().getMatches()).extracting("handler.name")
+                .containsExactly("RF1", "SF1", "F1", "dynamic");
+
+        assertThat(staticFilter.requestMatches).isEqualTo(1);
+    }
+
+    @Test
+    public void should_find_allowed_methods() throws Exception {
+        RestxRouting routing = new RestxRouting(
+                ImmutableList.<NamedComponent<RestxFilter>>of(),
+                ImmutableList.<NamedComponent<RestxRouteFilter>>of(),
+                ImmutableList.<RestxRoute>of(
+                        new TestRoute("getUser", "GET", "/users/{id}"),
+                        new TestRoute("putUser", "PUT", "/users/{id}"),
+                        new TestRoute("deleteUser", "DELETE", "/users/{id:\\d+}"),
+                        new TestRoute("createUser", "POST", "/users")
+                ));
+
+        assertThat(routing.getAllowedMethods("/users/12").orNull()).isEqualTo("DELETE, GET, PUT");
+        assertThat(routing.getAllowedMethods("/users/john").orNull()).isEqualTo("GET, PUT");
+        assertThat(routing.getAllowedMethods("/users").orNull()).isEqualTo("POST");
+        assertThat(routing.getAllowedMethods("/groups").isPresent()).isFalse();
+    }
+
+    private static String matchedRoute(RestxRouting routing, String method, String path) {
+        Optional<Match> m = routing.match(StdRequest.builder()
+                .setHttpMethod(method).setRestxPath(path).setBaseUri("http://localhost/api").build());
+        if (!m.isPresent()) {
+            return null;
+        }
+        return ((TestRoute) m.get().getMatch().get().getHandler()).getName();
+    }
+
+    private static class TestRoute extends StdRoute {
+        private final String name;
+
+        private TestRoute(String name, String method, String pathPattern) {
+            super(name, new StdRestxRequestMatcher(method, pathPattern));
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx) throws IOException {
+        }
+    }
+
     private class TestFilter implements RestxFilter, RestxHandler {
         private final String name;
 
@@ -57,6 +180,30 @@ public class RestxRoutingTest {
         }
 
     }
+    private class TestStaticFilter extends TestFilter implements RestxStaticFilter {
+        private int requestMatches;
+
+        private TestStaticFilter(String name) {
+            super(name);
+        }
+
+        @Override
+        public Optional<RestxHandlerMatch> match(RestxRequest req) {
+            requestMatches++;
+            return super.match(req);
+        }
+
+        @Override
+        public boolean isStaticFor(RestxRoute route) {
+            return route == ROUTE;
+        }
+
+        @Override
+        public Optional<RestxHandlerMatch> match(RestxRoute route) {
+            return Optional.of(new RestxHandlerMatch(new StdRestxRequestMatch("/*"), this));
+        }
+    }
+
     private class TestRouteFilter implements RestxRouteFilter, RestxHandler {
         private final String name;
 
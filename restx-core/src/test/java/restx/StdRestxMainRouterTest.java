@@ -0,0 +1,200 @@
+package restx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
+import org.joda.time.Duration;
+import org.junit.Test;
+import restx.common.metrics.dummy.DummyMetricRegistry;
+import restx.factory.NamedComponent;
+import restx.http.HttpStatus;
+import restx.jackson.JsonEntityRequestBodyReader;
+import restx.security.RestxSessionCookieDescriptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StdRestxMainRouterTest {
+
+    @Test
+    public void should_answer_not_found_with_routes_listing_in_dev() throws Exception {
+        TestResponse resp = route(RestxContext.Modes.DEV, "GET", "/groups");
+
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(resp.body()).contains("no restx route found for GET /groups").contains("routes:");
+    }
+
+    @Test
+    public void should_answer_not_found_without_routes_listing_outside_dev() throws Exception {
+        for (String mode : new String[] {RestxContext.Modes.PROD, RestxContext.Modes.TEST}) {
+            TestResponse resp = route(mode, "GET", "/groups");
+
+            assertThat(resp.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(resp.body()).isEqualTo("no restx route found");
+        }
+    }
+
+    @Test
+    public void should_answer_method_not_allowed_with_allow_header() throws Exception {
+        TestResponse resp = route(RestxContext.Modes.PROD, "DELETE", "/users/12");
+
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(resp.getHeader("Allow").orNull()).isEqualTo("GET, PUT");
+    }
+
+    @Test
+    public void should_not_map_head_onto_get_routes() throws Exception {
+        TestResponse resp = route(RestxContext.Modes.PROD, "HEAD", "/users/12");
+
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(resp.getHeader("Allow").orNull()).isEqualTo("GET, PUT");
+    }
+
+    @Test
+    public void should_answer_request_entity_too_large_when_limit_is_reached_while_parsing() throws Exception {
+        StdRestxMainRouter router = router(RestxContext.Modes.PROD);
+        TestResponse resp = new TestResponse();
+        router.route(StdRequest.builder()
+                .setHttpMethod("POST").setRestxPath("/users").setBaseUri("http://localhost/api")
+                .setInputStreamSupplier(new Supplier<InputStream>() {
+                    @Override
+                    public InputStream get() {
+                        return new LimitedInputStream("{\"name\":\"" + Strings.repeat("a", 100000) + "\"}", 1000);
+                    }
+                }).build(), resp);
+
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.REQUEST_ENTITY_TOO_LARGE);
+        assertThat(resp.body()).contains("maximum allowed size is 1000 bytes");
+    }
+
+    private static TestResponse route(String mode, String method, String path) throws IOException {
+        TestResponse resp = new TestResponse();
+        router(mode).route(StdRequest.builder()
+                .setHttpMethod(method).setRestxPath(path).setBaseUri("http://localhost/api").build(), resp);
+        return resp;
+    }
+
+    private static StdRestxMainRouter router(String mode) {
+        return new StdRestxMainRouter(new DummyMetricRegistry(), new RestxRouting(
+                ImmutableList.<NamedComponent<RestxFilter>>of(),
+                ImmutableList.<NamedComponent<RestxRouteFilter>>of(),
+                ImmutableList.<RestxRoute>of(
+                        new TestRoute("GET", "/users/{id}"),
+                        new TestRoute("PUT", "/users/{id}"),
+                        new UserRoute())), mode);
+    }
+
+    /**
+     * Reads a user from the request body, with jackson.
+     */
+    private static class UserRoute extends StdRoute {
+        private UserRoute() {
+            super("POST /users", new StdRestxRequestMatcher("POST", "/users"));
+        }
+
+        @Override
+        public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
+                throws IOException {
+            JsonEntityRequestBodyReader.<User>using(User.class, new ObjectMapper().readerFor(User.class))
+                    .readBody(req, ctx);
+            resp.setStatus(HttpStatus.OK);
+        }
+    }
+
+    public static class User {
+        public String name;
+    }
+
+    /**
+     * Sends its content in small chunks, and raises a RequestBodyTooLargeException as AbstractRequest does once more
+     * than max bytes are read.
+     */
+    private static class LimitedInputStream extends InputStream {
+        private final byte[] content;
+        private final long max;
+        private int position;
+
+        private LimitedInputStream(String content, long max) {
+            this.content = content.getBytes(StandardCharsets.UTF_8);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position == content.length) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, 64), content.length - position);
+            System.arraycopy(content, position, b, off, n);
+            position += n;
+            if (position > max) {
+                throw new RequestBodyTooLargeException(max);
+            }
+            return n;
+        }
+    }
+
+    private static class TestRoute extends StdRoute {
+        private TestRoute(String method, String path) {
+            super(method + " " + path, new StdRestxRequestMatcher(method, path));
+        }
+
+        @Override
+        public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx)
+                throws IOException {
+            resp.setStatus(HttpStatus.OK);
+        }
+    }
+
+    private static class TestResponse extends AbstractResponse<Object> {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private TestResponse() {
+            super(Object.class, new Object());
+        }
+
+        String body() {
+            return new String(body.toByteArray(), StandardCharsets.UTF_8).trim();
+        }
+
+        @Override
+        protected void closeResponse() throws IOException {
+        }
+
+        @Override
+        protected OutputStream doGetOutputStream() throws IOException {
+            return body;
+        }
+
+        @Override
+        protected void doSetStatus(HttpStatus httpStatus) {
+        }
+
+        @Override
+        protected void doSetHeader(String headerName, String header) {
+        }
+
+        @Override
+        public TestResponse addCookie(String cookie, String value,
+                                      RestxSessionCookieDescriptor cookieDescriptor, Duration expires) {
+            return this;
+        }
+
+        @Override
+        public TestResponse clearCookie(String cookie, RestxSessionCookieDescriptor cookieDescriptor) {
+            return this;
+        }
+    }
+}
@@ -42,6 +42,8 @@ public class StdRestxRequestMatcherTest {
         assertThat(match.isPresent()).isTrue();
         assertThat(match.get().getPathParams()).isEqualTo(ImmutableMap.of("name", "johndoe"));
         assertThat(match.get().getPathParam("name")).isEqualTo("johndoe");
+        assertThat(match.get().findPathParam("name").get()).isEqualTo("johndoe");
+        assertThat(match.get().findPathParam("other").isPresent()).isFalse();
 
         match = matcher.match("POST", "/user/johndoe");
         assertThat(match.isPresent()).isFalse();
@@ -146,4 +148,78 @@ public class StdRestxRequestMatcherTest {
         match = matcher.match("GET", "/user/johndoe/children/");
         assertThat(match.isPresent()).isFalse();
     }
+
+    @Test
+    public void should_matcher_with_trailing_slash_and_empty_segments_match_not_match() throws Exception {
+        StdRestxRequestMatcher matcher = new StdRestxRequestMatcher("GET", "/user/{name}/");
+
+        Optional<? extends RestxRequestMatch> match = matcher.match("GET", "/user/johndoe/");
+        assertThat(match.isPresent()).isTrue();
+        assertThat(match.get().getPathParam("name")).isEqualTo("johndoe");
+
+        match = matcher.match("GET", "/user/johndoe");
+        assertThat(match.isPresent()).isFalse();
+
+        match = matcher.match("GET", "/user//");
+        assertThat(match.isPresent()).isFalse();
+
+        match = matcher.match("GET", "/user/johndoe//");
+        assertThat(match.isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_matcher_with_params_inside_segments_match_not_match() throws Exception {
+        StdRestxRequestMatcher matcher = new StdRestxRequestMatcher("GET", "/user/{name}.json");
+
+        Optional<? extends RestxRequestMatch> match = matcher.match("GET", "/user/johndoe.json");
+        assertThat(match.isPresent()).isTrue();
+        assertThat(match.get().getPathParams()).isEqualTo(ImmutableMap.of("name", "johndoe"));
+
+        match = matcher.match("GET", "/user/johndoe");
+        assertThat(match.isPresent()).isFalse();
+
+        matcher = new StdRestxRequestMatcher("GET", "/user/{first}-{last}");
+        match = matcher.match("GET", "/user/john-doe");
+        assertThat(match.isPresent()).isTrue();
+        assertThat(match.get().getPathParams()).isEqualTo(ImmutableMap.of("first", "john", "last", "doe"));
+    }
+
+    @Test
+    public void should_match_fail_on_unknown_path_param() throws Exception {
+        StdRestxRequestMatcher matcher = new StdRestxRequestMatcher("GET", "/user/{name}");
+
+        Optional<? extends RestxRequestMatch> match = matcher.match("GET", "/user/johndoe");
+        assertThat(match.isPresent()).isTrue();
+        try {
+            match.get().getPathParam("id");
+            fail("unknown path param should raise an exception");
+        } catch (IllegalStateException e) {
+            assertThat(e).hasMessageContaining("id");
+        }
+    }
+
+    @Test
+    public void should_literal_path_prefix_stop_before_path_params_and_regex() throws Exception {
+        assertThat(new StdRestxRequestMatcher("GET", "/users").getLiteralPathPrefix()).isEqualTo("/users");
+        assertThat(new StdRestxRequestMatcher("GET", "/users/:id").getLiteralPathPrefix()).isEqualTo("/users/");
+        assertThat(new StdRestxRequestMatcher("GET", "/users/{id}").getLiteralPathPrefix()).isEqualTo("/users");
+        assertThat(new StdRestxRequestMatcher("GET", "/users/.*").getLiteralPathPrefix()).isEqualTo("/users/");
+        assertThat(new StdRestxRequestMatcher("GET", "/users+").getLiteralPathPrefix()).isEqualTo("/users");
+    }
+
+    @Test
+    public void should_literal_path_prefix_exclude_quantified_char() throws Exception {
+        StdRestxRequestMatcher matcher = new StdRestxRequestMatcher("GET", "/users?");
+        assertThat(matcher.getLiteralPathPrefix()).isEqualTo("/user");
+        assertThat(matcher.match("GET", "/user").isPresent()).isTrue();
+
+        assertThat(new StdRestxRequestMatcher("GET", "/users*").getLiteralPathPrefix()).isEqualTo("/user");
+    }
+
+    @Test
+    public void should_literal_path_prefix_be_empty_with_alternation() throws Exception {
+        StdRestxRequestMatcher matcher = new StdRestxRequestMatcher("GET", "/users|/groups");
+        assertThat(matcher.getLiteralPathPrefix()).isEqualTo("");
+        assertThat(matcher.match("GET", "/groups").isPresent()).isTrue();
+    }
 }
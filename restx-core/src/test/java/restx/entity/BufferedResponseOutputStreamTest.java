@@ -0,0 +1,105 @@
+package restx.entity;
+
+import com.google.common.base.Strings;
+import org.joda.time.Duration;
+import org.junit.Test;
+import restx.AbstractResponse;
+import restx.http.HttpStatus;
+import restx.security.RestxSessionCookieDescriptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BufferedResponseOutputStreamTest {
+    @Test
+    public void should_set_content_length_when_body_fits_in_buffer() throws Exception {
+        TestResponse resp = new TestResponse();
+
+        BufferedResponseOutputStream out = BufferedResponseOutputStream.open(resp);
+        try {
+            out.write("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            assertThat(resp.body.size()).isEqualTo(0);
+            out.finish();
+        } finally {
+            out.release();
+        }
+
+        assertThat(resp.getHeader("Content-Length").orNull()).isEqualTo("7");
+        assertThat(resp.body.toString("UTF-8")).isEqualTo("{\"a\":1}");
+    }
+
+    @Test
+    public void should_stream_body_larger_than_buffer() throws Exception {
+        TestResponse resp = new TestResponse();
+        String body = Strings.repeat("0123456789", BufferedResponseOutputStream.BUFFER_SIZE / 5);
+
+        BufferedResponseOutputStream out = BufferedResponseOutputStream.open(resp);
+        try {
+            out.write(body.substring(0, 10).getBytes(StandardCharsets.UTF_8));
+            out.write(body.substring(10).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+            out.finish();
+        } finally {
+            out.release();
+        }
+
+        assertThat(resp.getHeader("Content-Length").isPresent()).isFalse();
+        assertThat(resp.body.toString("UTF-8")).isEqualTo(body + "\n");
+    }
+
+    @Test
+    public void should_not_send_body_when_not_finished() throws Exception {
+        TestResponse resp = new TestResponse();
+
+        BufferedResponseOutputStream out = BufferedResponseOutputStream.open(resp);
+        try {
+            out.write("{\"a\":".getBytes(StandardCharsets.UTF_8));
+            out.close();
+        } finally {
+            out.release();
+        }
+
+        assertThat(resp.body.size()).isEqualTo(0);
+    }
+
+    private static class TestResponse extends AbstractResponse<Object> {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private TestResponse() {
+            super(Object.class, new Object());
+        }
+
+        @Override
+        protected void closeResponse() throws IOException {
+        }
+
+        @Override
+        protected OutputStream doGetOutputStream() throws IOException {
+            return body;
+        }
+
+        @Override
+        protected void doSetStatus(HttpStatus httpStatus) {
+        }
+
+        @Override
+        protected void doSetHeader(String headerName, String header) {
+        }
+
+        @Override
+        public TestResponse addCookie(String cookie, String value,
+                                      RestxSessionCookieDescriptor cookieDescriptor, Duration expires) {
+            return this;
+        }
+
+        @Override
+        public TestResponse clearCookie(String cookie, RestxSessionCookieDescriptor cookieDescriptor) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package restx.entity;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import org.junit.Test;
+import restx.types.Types;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityResponseWriterRegistryTest {
+    private final TextContentTypeModule textModule = new TextContentTypeModule();
+
+    @Test
+    public void should_share_writers_built_for_same_type_and_content_type() throws Exception {
+        EntityResponseWriterRegistry registry = new EntityResponseWriterRegistry(
+                ImmutableList.of(textModule.textEntityDefaultContentTypeProvider()),
+                ImmutableList.of(textModule.textEntityResponseWriterFactory()));
+
+        EntityResponseWriter<String> writer = registry.build(String.class, Optional.<String>absent());
+
+        assertThat(registry.<String>build(String.class, Optional.<String>absent())).isSameAs(writer);
+        assertThat(registry.<String>build(String.class, Optional.of("text/plain"))).isSameAs(writer);
+        assertThat(registry.<String>build(String.class, Optional.of("text/plain; charset=UTF-8"))).isNotSameAs(writer);
+    }
+
+    @Test
+    public void should_share_writers_built_for_equal_parameterized_types() throws Exception {
+        EntityResponseWriterRegistry registry = new EntityResponseWriterRegistry(
+                ImmutableList.of(textModule.textEntityDefaultContentTypeProvider()),
+                ImmutableList.of(textModule.textEntityResponseWriterFactory()));
+
+        // generated routers build parameterized types with Types, each route with its own instance
+        EntityResponseWriter<List<String>> writer = registry.build(
+                Types.newParameterizedType(List.class, String.class), Optional.of("text/plain"));
+
+        assertThat(registry.<List<String>>build(
+                Types.newParameterizedType(List.class, String.class), Optional.of("text/plain")))
+                .isSameAs(writer);
+        assertThat(registry.<List<String>>build(new TypeToken<List<String>>() { }.getType(), Optional.of("text/plain")))
+                .isSameAs(writer);
+    }
+}
@@ -0,0 +1,240 @@
+package restx.entity;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.joda.time.Duration;
+import org.junit.Test;
+import restx.*;
+import restx.common.metrics.dummy.DummyMetricRegistry;
+import restx.endpoint.Endpoint;
+import restx.factory.NamedComponent;
+import restx.factory.ParamDef;
+import restx.http.HttpStatus;
+import restx.security.RestxSessionCookieDescriptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StdAsyncEntityRouteTest {
+
+    @Test
+    public void should_write_response_when_result_completes() throws Exception {
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        TestAsyncRequest req = new TestAsyncRequest(true);
+        TestResponse resp = new TestResponse();
+
+        router(result).route(req, resp);
+
+        assertThat(req.completed.get()).isFalse();
+        assertThat(resp.isClosed()).isFalse();
+
+        result.complete(Optional.of("hello"));
+
+        assertThat(req.completed.get()).isTrue();
+        assertThat(resp.isClosed()).isTrue();
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.body()).isEqualTo("hello");
+    }
+
+    @Test
+    public void should_write_error_when_result_fails() throws Exception {
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        TestAsyncRequest req = new TestAsyncRequest(true);
+        TestResponse resp = new TestResponse();
+
+        router(result).route(req, resp);
+        result.completeExceptionally(new IllegalStateException("boom"));
+
+        assertThat(req.completed.get()).isTrue();
+        assertThat(resp.isClosed()).isTrue();
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(resp.body()).contains("boom");
+    }
+
+    @Test
+    public void should_write_error_and_ignore_result_when_aborted_by_server() throws Exception {
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        TestAsyncRequest req = new TestAsyncRequest(true);
+        TestResponse resp = new TestResponse();
+
+        router(result).route(req, resp);
+        req.abortListener.onAbort(new WebException(HttpStatus.SERVICE_UNAVAILABLE, "async processing timed out"));
+
+        assertThat(req.completed.get()).isTrue();
+        assertThat(resp.isClosed()).isTrue();
+        assertThat(resp.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // the route completes too late, its result is not written
+        result.complete(Optional.of("hello"));
+        assertThat(resp.body()).doesNotContain("hello");
+    }
+
+    @Test
+    public void should_run_filter_done_callbacks_once_route_completes() throws Exception {
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        TestAsyncRequest req = new TestAsyncRequest(true);
+        TestResponse resp = new TestResponse();
+        final List<HttpStatus> statuses = new ArrayList<>();
+        RestxRouteFilter filter = new RestxRouteFilter() {
+            @Override
+            public Optional<RestxHandlerMatch> match(RestxRoute route) {
+                return Optional.of(new RestxHandlerMatch(new StdRestxRequestMatch("/*"), new RestxHandler() {
+                    @Override
+                    public void handle(RestxRequestMatch match, RestxRequest req, final RestxResponse resp,
+                                       RestxContext ctx) throws IOException {
+                        ctx.nextHandlerMatch().handle(req, resp, ctx);
+                        ctx.whenDone(new Runnable() {
+                            @Override
+                            public void run() {
+                                statuses.add(resp.getStatus());
+                            }
+                        });
+                    }
+                }));
+            }
+        };
+
+        router(result, filter).route(req, resp);
+        assertThat(statuses).isEmpty();
+
+        result.complete(Optional.of("hello"));
+        assertThat(statuses).containsExactly(HttpStatus.OK);
+    }
+
+    @Test
+    public void should_wait_for_result_when_async_is_not_supported() throws Exception {
+        final CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        TestAsyncRequest req = new TestAsyncRequest(false);
+        TestResponse resp = new TestResponse();
+
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                result.complete(Optional.of("hello"));
+            }
+        }.start();
+        router(result).route(req, resp);
+
+        assertThat(req.completed.get()).isFalse();
+        assertThat(resp.isClosed()).isTrue();
+        assertThat(resp.body()).isEqualTo("hello");
+    }
+
+    private static RestxMainRouter router(final CompletionStage<Optional<String>> result,
+                                          RestxRouteFilter... filters) {
+        StdAsyncEntityRoute<Void, String> route = new StdAsyncEntityRoute<Void, String>("test",
+                VoidContentTypeModule.VoidEntityRequestBodyReader.INSTANCE, new TextWriter(),
+                Endpoint.of("GET", "/test"), HttpStatus.OK, RestxLogLevel.QUIET, null, null, new ParamDef[0]) {
+            @Override
+            protected CompletionStage<Optional<String>> doRouteAsync(RestxRequest restxRequest, RestxResponse restxResponse,
+                                                                    RestxRequestMatch match, Void i) {
+                return result;
+            }
+        };
+        return new StdRestxMainRouter(new DummyMetricRegistry(), new RestxRouting(
+                ImmutableList.<NamedComponent<RestxFilter>>of(),
+                namedFilters(filters),
+                ImmutableList.<RestxRoute>of(route)), RestxContext.Modes.PROD);
+    }
+
+    private static ImmutableList<NamedComponent<RestxRouteFilter>> namedFilters(RestxRouteFilter... filters) {
+        ImmutableList.Builder<NamedComponent<RestxRouteFilter>> named = ImmutableList.builder();
+        for (int i = 0; i < filters.length; i++) {
+            named.add(NamedComponent.of(RestxRouteFilter.class, "filter" + i, filters[i]));
+        }
+        return named.build();
+    }
+
+    private static class TestAsyncRequest extends RestxRequestWrapper implements AsyncRestxRequest {
+        private final boolean asyncSupported;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private AbortListener abortListener;
+
+        private TestAsyncRequest(boolean asyncSupported) {
+            super(StdRequest.builder()
+                    .setHttpMethod("GET").setRestxPath("/test").setBaseUri("http://localhost/api").build());
+            this.asyncSupported = asyncSupported;
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return asyncSupported;
+        }
+
+        @Override
+        public Completion startAsync(AbortListener abortListener) {
+            this.abortListener = abortListener;
+            return new Completion() {
+                @Override
+                public void complete() {
+                    completed.set(true);
+                }
+            };
+        }
+    }
+
+    private static class TextWriter extends AbstractEntityResponseWriter<String> {
+        private TextWriter() {
+            super(String.class, "text/plain");
+        }
+
+        @Override
+        protected void write(String value, RestxRequest req, RestxResponse resp, RestxContext ctx) throws IOException {
+            resp.getWriter().print(value);
+        }
+    }
+
+    private static class TestResponse extends AbstractResponse<Object> {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private TestResponse() {
+            super(Object.class, new Object());
+        }
+
+        String body() {
+            return new String(body.toByteArray(), StandardCharsets.UTF_8).trim();
+        }
+
+        @Override
+        protected void closeResponse() throws IOException {
+        }
+
+        @Override
+        protected OutputStream doGetOutputStream() throws IOException {
+            return body;
+        }
+
+        @Override
+        protected void doSetStatus(HttpStatus httpStatus) {
+        }
+
+        @Override
+        protected void doSetHeader(String headerName, String header) {
+        }
+
+        @Override
+        public TestResponse addCookie(String cookie, String value,
+                                      RestxSessionCookieDescriptor cookieDescriptor, Duration expires) {
+            return this;
+        }
+
+        @Override
+        public TestResponse clearCookie(String cookie, RestxSessionCookieDescriptor cookieDescriptor) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package restx.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import restx.AppSettingsConfig;
+import restx.RestxContext;
+import restx.common.ConfigElement;
+import restx.common.StdRestxConfig;
+import restx.entity.EntityResponseWriterFactory;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonContentTypeModuleTest {
+
+    @Test
+    public void should_fetch_serializer_when_building_writer_in_prod() throws Exception {
+        SerializerCounter counter = new SerializerCounter();
+        ObjectMapper mapper = mapper(counter);
+
+        writerFactory(mapper, RestxContext.Modes.PROD).mayBuildFor(Pojo.class, "application/json");
+        assertThat(counter.count).isEqualTo(1);
+
+        // the serializer looked up by untyped writers, by value class, is the one fetched
+        mapper.writer().writeValue(new StringWriter(), new Pojo());
+        assertThat(counter.count).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_fetch_serializer_when_building_writer_in_dev() throws Exception {
+        SerializerCounter counter = new SerializerCounter();
+
+        writerFactory(mapper(counter), RestxContext.Modes.DEV).mayBuildFor(Pojo.class, "application/json");
+
+        assertThat(counter.count).isEqualTo(0);
+    }
+
+    private static EntityResponseWriterFactory writerFactory(ObjectMapper mapper, String mode) {
+        return new JsonContentTypeModule().jsonEntityResponseWriterFactory(mapper, mapper.writer(),
+                new AppSettingsConfig(StdRestxConfig.of(ImmutableList.of(ConfigElement.of("restx.mode", mode)))));
+    }
+
+    private static ObjectMapper mapper(SerializerCounter counter) {
+        return new ObjectMapper().registerModule(new SimpleModule().setSerializerModifier(counter));
+    }
+
+    /**
+     * Counts the serializers built for Pojo.
+     */
+    private static class SerializerCounter extends BeanSerializerModifier {
+        private int count;
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            if (beanDesc.getBeanClass() == Pojo.class) {
+                count++;
+            }
+            return serializer;
+        }
+    }
+
+    public static class Pojo {
+        public String name = "pojo";
+    }
+}
@@ -0,0 +1,69 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class BinaryRestxSessionCookieCodecTest {
+    @Test
+    public void should_encode_and_decode_session() throws Exception {
+        BinaryRestxSessionCookieCodec codec = new BinaryRestxSessionCookieCodec(definition("principal", "sessionKey"));
+        DateTime expires = new DateTime(1400000000000L);
+        ImmutableMap<String, String> valueidsByKey = ImmutableMap.of(
+                "principal", "admin", "sessionKey", "e71a0f9f-9082-4626-bc34-3893c540566d", "other", "é");
+
+        String cookie = codec.encode(new RestxSessionCookieCodec.Content(valueidsByKey, expires));
+
+        assertThat(cookie).matches("[A-Za-z0-9_-]+");
+        assertThat(codec.canDecode(cookie)).isTrue();
+        RestxSessionCookieCodec.Content content = codec.decode(cookie);
+        assertThat(content.getValueidsByKey()).isEqualTo(valueidsByKey);
+        assertThat(content.getExpires().getMillis()).isEqualTo(expires.getMillis());
+    }
+
+    @Test
+    public void should_not_decode_json_cookies() throws Exception {
+        BinaryRestxSessionCookieCodec codec = new BinaryRestxSessionCookieCodec(definition("principal"));
+
+        assertThat(codec.canDecode("{\"_expires\":\"2013-09-15T18:30:41.234+02:00\",\"principal\":\"admin\"}"))
+                .isFalse();
+    }
+
+    @Test
+    public void should_reject_cookies_written_with_other_definition_keys() throws Exception {
+        String cookie = new BinaryRestxSessionCookieCodec(definition("principal", "sessionKey")).encode(
+                new RestxSessionCookieCodec.Content(ImmutableMap.of("principal", "admin"), DateTime.now()));
+
+        try {
+            new BinaryRestxSessionCookieCodec(definition("principal", "cart", "sessionKey")).decode(cookie);
+            fail("should raise exception");
+        } catch (IOException e) {
+            assertThat(e.getMessage()).contains("other session definition keys");
+        }
+    }
+
+    private static RestxSession.Definition definition(String... keys) {
+        ImmutableList.Builder<RestxSession.Definition.Entry> entries = ImmutableList.builder();
+        for (final String key : keys) {
+            entries.add(new RestxSession.Definition.Entry<String>() {
+                @Override
+                public String getKey() {
+                    return key;
+                }
+
+                @Override
+                public Optional<? extends String> getValueForId(String valueId) {
+                    return Optional.of(valueId);
+                }
+            });
+        }
+        return new RestxSession.Definition(new GuavaEntryCacheManager(), entries.build());
+    }
+}
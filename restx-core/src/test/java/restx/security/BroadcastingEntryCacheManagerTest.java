@@ -0,0 +1,186 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Test;
+import restx.AppSettingsConfig;
+import restx.RestxContext;
+import restx.common.ConfigElement;
+import restx.common.Crypto;
+import restx.common.RestxConfig;
+import restx.common.StdRestxConfig;
+import restx.factory.Factory;
+import restx.factory.Name;
+import restx.security.RestxSession.Definition.CachedEntry;
+import restx.security.RestxSession.Definition.EntryCacheManager;
+import restx.security.SessionInvalidationBus.Invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BroadcastingEntryCacheManagerTest {
+    @Test
+    public void should_broadcast_invalidations_to_other_managers() throws Exception {
+        LocalSessionInvalidationBus bus = new LocalSessionInvalidationBus();
+        final AtomicInteger version = new AtomicInteger(1);
+        RestxSession.Definition.Entry<String> entry = new RestxSession.Definition.Entry<String>() {
+            @Override
+            public String getKey() {
+                return "principal";
+            }
+
+            @Override
+            public Optional<? extends String> getValueForId(String valueId) {
+                return Optional.of(valueId + version.get());
+            }
+        };
+
+        BroadcastingEntryCacheManager node1 = new BroadcastingEntryCacheManager(new GuavaEntryCacheManager(), bus);
+        BroadcastingEntryCacheManager node2 = new BroadcastingEntryCacheManager(new GuavaEntryCacheManager(), bus);
+        CachedEntry<String> entry1 = node1.getCachedEntry(entry);
+        CachedEntry<String> entry2 = node2.getCachedEntry(entry);
+        assertThat(entry1.getValueForId("admin").get()).isEqualTo("admin1");
+        assertThat(entry2.getValueForId("admin").get()).isEqualTo("admin1");
+
+        version.set(2);
+        entry1.invalidateCacheFor("admin");
+        assertThat(entry1.getValueForId("admin").get()).isEqualTo("admin2");
+        assertThat(entry2.getValueForId("admin").get()).isEqualTo("admin2");
+
+        node2.close();
+        version.set(3);
+        entry1.invalidateCache();
+        assertThat(entry1.getValueForId("admin").get()).isEqualTo("admin3");
+        assertThat(entry2.getValueForId("admin").get()).isEqualTo("admin2");
+        node1.close();
+    }
+
+    @Test
+    public void should_encode_multicast_invalidations() throws Exception {
+        Crypto.Hmac hmac = Crypto.hmac("key".getBytes(UTF_8), Crypto.HMAC_SHA256);
+        long now = System.currentTimeMillis();
+        long sequence = 1;
+        for (Invalidation invalidation : new Invalidation[]{
+                Invalidation.of("principal", "admin\nwith=line break"), Invalidation.all("principal")}) {
+            byte[] data = MulticastSessionInvalidationBus.encode(hmac, "node1", sequence++, now, invalidation);
+
+            assertThat(MulticastSessionInvalidationBus.decode(
+                    hmac, "node2", now, received(), data, data.length).get()).isEqualTo(invalidation);
+            // datagrams sent by a node are ignored by itself
+            assertThat(MulticastSessionInvalidationBus.decode(
+                    hmac, "node1", now, received(), data, data.length).isPresent()).isFalse();
+        }
+        byte[] garbage = "garbage".getBytes(UTF_8);
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now, received(), garbage, garbage.length).isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_drop_multicast_invalidations_not_signed_with_same_key() throws Exception {
+        Crypto.Hmac hmac = Crypto.hmac("key".getBytes(UTF_8), Crypto.HMAC_SHA256);
+        Crypto.Hmac other = Crypto.hmac("other key".getBytes(UTF_8), Crypto.HMAC_SHA256);
+        long now = System.currentTimeMillis();
+
+        byte[] data = MulticastSessionInvalidationBus.encode(other, "node1", 1, now, Invalidation.all("principal"));
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now, received(), data, data.length).isPresent()).isFalse();
+
+        byte[] unsigned = ("2\nnode1\n1\n" + now + "\nprincipal\n*").getBytes(UTF_8);
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now, received(), unsigned, unsigned.length).isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_drop_stale_or_replayed_multicast_invalidations() throws Exception {
+        Crypto.Hmac hmac = Crypto.hmac("key".getBytes(UTF_8), Crypto.HMAC_SHA256);
+        ConcurrentMap<String, Boolean> received = received();
+        long now = System.currentTimeMillis();
+        long maxAge = MulticastSessionInvalidationBus.MAX_AGE;
+
+        byte[] stale = MulticastSessionInvalidationBus.encode(
+                hmac, "node1", 1, now - maxAge - 1, Invalidation.all("principal"));
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now, received, stale, stale.length).isPresent()).isFalse();
+        byte[] future = MulticastSessionInvalidationBus.encode(
+                hmac, "node1", 2, now + maxAge + 1, Invalidation.all("principal"));
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now, received, future, future.length).isPresent()).isFalse();
+
+        byte[] data = MulticastSessionInvalidationBus.encode(hmac, "node1", 3, now, Invalidation.all("principal"));
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now + maxAge, received, data, data.length).isPresent()).isTrue();
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now + maxAge, received, data, data.length).isPresent()).isFalse();
+        // same sequence number from another node
+        byte[] other = MulticastSessionInvalidationBus.encode(hmac, "node3", 3, now, Invalidation.all("principal"));
+        assertThat(MulticastSessionInvalidationBus.decode(
+                hmac, "node2", now, received, other, other.length).isPresent()).isTrue();
+    }
+
+    @Test
+    public void should_not_broadcast_invalidations_without_signature_key() throws Exception {
+        SessionInvalidationBus bus = new SecurityModule().sessionInvalidationBus(
+                new SecurityModule().securitySettings(config("restx.sessions.invalidation.bus", "multicast")),
+                new AppSettingsConfig(config("restx.mode", RestxContext.Modes.PROD)),
+                Optional.<SignatureKey>absent());
+
+        assertThat(bus).isSameAs(LocalSessionInvalidationBus.jvm());
+    }
+
+    private static ConcurrentMap<String, Boolean> received() {
+        return new ConcurrentHashMap<String, Boolean>();
+    }
+
+    private static RestxConfig config(String key, String value) {
+        return StdRestxConfig.of(ImmutableList.of(ConfigElement.of(key, value)));
+    }
+
+    @Test
+    public void should_warm_cached_entries_of_security_module_entry_cache_manager() throws Exception {
+        final List<String> loads = Lists.newArrayList();
+        RestxSession.Definition.BulkEntry<String> entry = new RestxSession.Definition.BulkEntry<String>() {
+            @Override
+            public String getKey() {
+                return "principal";
+            }
+
+            @Override
+            public Optional<? extends String> getValueForId(String valueId) {
+                loads.add(valueId);
+                return Optional.of(valueId.toUpperCase());
+            }
+
+            @Override
+            public Map<String, ? extends String> getValuesForIds(Iterable<String> valueIds) {
+                Map<String, String> values = Maps.newHashMap();
+                for (String valueId : valueIds) {
+                    loads.add(valueId);
+                    values.put(valueId, valueId.toUpperCase());
+                }
+                return values;
+            }
+        };
+
+        Factory factory = Factory.builder().addFromServiceLoader().build();
+        try {
+            EntryCacheManager cacheManager = factory.getComponent(
+                    Name.of(EntryCacheManager.class, SecurityModule.ENTRY_CACHE_MANAGER));
+            CachedEntry<String> cachedEntry = cacheManager.getCachedEntry(entry);
+            cachedEntry.warm(ImmutableList.of("a", "b"));
+
+            assertThat(loads).containsOnly("a", "b");
+            assertThat(cachedEntry.getValueForId("a")).isEqualTo(Optional.of("A"));
+            assertThat(loads).hasSize(2);
+        } finally {
+            factory.close();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Test;
+import restx.common.metrics.dummy.DummyMetricRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GuavaEntryCacheManagerTest {
+    @Test
+    public void should_warm_bulk_entry_in_one_load() throws Exception {
+        final List<String> loads = Lists.newArrayList();
+        RestxSession.Definition.BulkEntry<String> entry = new RestxSession.Definition.BulkEntry<String>() {
+            @Override
+            public String getKey() {
+                return "test";
+            }
+
+            @Override
+            public Optional<? extends String> getValueForId(String valueId) {
+                loads.add(valueId);
+                return Optional.of(valueId.toUpperCase());
+            }
+
+            @Override
+            public Map<String, ? extends String> getValuesForIds(Iterable<String> valueIds) {
+                Map<String, String> values = Maps.newHashMap();
+                for (String valueId : valueIds) {
+                    loads.add(valueId);
+                    if (!valueId.equals("unknown")) {
+                        values.put(valueId, valueId.toUpperCase());
+                    }
+                }
+                return values;
+            }
+        };
+
+        GuavaEntryCacheManager.GuavaCacheSessionDefinitionEntry<String> cachedEntry =
+                (GuavaEntryCacheManager.GuavaCacheSessionDefinitionEntry<String>)
+                        new GuavaEntryCacheManager().getCachedEntry(entry);
+        cachedEntry.warm(ImmutableList.of("a", "b", "unknown"));
+
+        assertThat(loads).containsOnly("a", "b", "unknown");
+        assertThat(cachedEntry.getValueForId("a")).isEqualTo(Optional.of("A"));
+        assertThat(cachedEntry.getValueForId("b")).isEqualTo(Optional.of("B"));
+        assertThat(loads).hasSize(3);
+    }
+
+    @Test
+    public void should_keep_stale_values_without_failing_when_reload_queue_is_full() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean reloading = new AtomicBoolean();
+        RestxSession.Definition.Entry<String> entry = new RestxSession.Definition.Entry<String>() {
+            @Override
+            public String getKey() {
+                return "test";
+            }
+
+            @Override
+            public Optional<? extends String> getValueForId(String valueId) {
+                if (reloading.get()) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of("new " + valueId);
+                }
+                return Optional.of("old " + valueId);
+            }
+        };
+        final FakeTicker ticker = new FakeTicker();
+        GuavaEntryCacheManager manager = new GuavaEntryCacheManager(2000, 0, 1, 1, new DummyMetricRegistry()) {
+            @Override
+            protected <T> CacheBuilder<Object, Object> getCacheBuilder(RestxSession.Definition.Entry<T> entry) {
+                return super.getCacheBuilder(entry).ticker(ticker);
+            }
+        };
+        try {
+            LoadingCache<String, String> cache = manager.getLoadingCacheFor(entry);
+            // 1 reload running, 1000 queued, and 1 rejected
+            int count = 1002;
+            for (int i = 0; i < count; i++) {
+                cache.get("id" + i);
+            }
+            reloading.set(true);
+            ticker.advance(2, TimeUnit.SECONDS);
+
+            for (int i = 0; i < count; i++) {
+                assertThat(cache.get("id" + i)).isEqualTo("old id" + i);
+            }
+            assertThat(cache.stats().loadExceptionCount()).isEqualTo(0);
+        } finally {
+            release.countDown();
+            manager.close();
+        }
+    }
+
+    private static class FakeTicker extends Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            nanos.addAndGet(unit.toNanos(duration));
+        }
+    }
+}
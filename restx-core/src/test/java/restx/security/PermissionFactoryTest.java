@@ -0,0 +1,83 @@
+package restx.security;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import restx.RestxRequest;
+import restx.RestxRequestMatch;
+import restx.StdRequest;
+import restx.StdRestxRequestMatcher;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class PermissionFactoryTest {
+    private final PermissionFactory permissionFactory = new PermissionFactory();
+
+    @Test
+    public void should_check_constant_role() throws Exception {
+        Permission permission = permissionFactory.hasRole("admin");
+
+        assertThat(permission.has(principal("admin"), ImmutableMap.<String, String>of()).isPresent()).isTrue();
+        assertThat(permission.has(principal("user"), ImmutableMap.<String, String>of()).isPresent()).isFalse();
+        assertThat(permission.has(principal("*"), ImmutableMap.<String, String>of()).isPresent()).isTrue();
+    }
+
+    @Test
+    public void should_interpolate_role() throws Exception {
+        Permission permission = permissionFactory.hasRole("{company}-admin-{site}$");
+        ImmutableMap<String, String> variables = ImmutableMap.of("company", "acme", "site", "paris");
+
+        assertThat(permission.has(principal("acme-admin-paris$"), variables).isPresent()).isTrue();
+        assertThat(permission.has(principal("acme-admin-lyon$"), variables).isPresent()).isFalse();
+        assertThat(permissionFactory.interpolateRole("{company}-admin", variables)).isEqualTo("acme-admin");
+    }
+
+    @Test
+    public void should_interpolate_role_with_request_params() throws Exception {
+        RestxRequestMatch match = new StdRestxRequestMatcher("GET", "/companies/{company}")
+                .match("GET", "/companies/acme").get();
+        RestxRequest request = StdRequest.builder()
+                .setBaseUri("http://localhost/api").setRestxPath("/companies/acme")
+                .setQueryParams(ImmutableMap.of(
+                        "site", ImmutableList.of("paris"), "company", ImmutableList.of("other"))).build();
+
+        Map<String, String> variables = new StdRestxSecurityManager(permissionFactory)
+                .createRoleInterpolationMapFrom(request, match);
+
+        // path params take precedence over query params
+        assertThat(variables.get("company")).isEqualTo("acme");
+        assertThat(variables.containsKey("site")).isTrue();
+        assertThat(variables.containsKey("missing")).isFalse();
+        assertThat(variables).isEqualTo(ImmutableMap.of("company", "acme", "site", "paris"));
+        assertThat(permissionFactory.hasRole("{company}-admin-{site}")
+                .has(principal("acme-admin-paris"), variables).isPresent()).isTrue();
+    }
+
+    @Test
+    public void should_fail_on_missing_variable() throws Exception {
+        try {
+            permissionFactory.hasRole("admin-{company}").has(principal("user"), ImmutableMap.<String, String>of());
+            fail("should have failed on missing variable");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("<company>");
+        }
+    }
+
+    private RestxPrincipal principal(final String role) {
+        return new RestxPrincipal() {
+            @Override
+            public ImmutableSet<String> getPrincipalRoles() {
+                return ImmutableSet.of(role);
+            }
+
+            @Override
+            public String getName() {
+                return "john";
+            }
+        };
+    }
+}
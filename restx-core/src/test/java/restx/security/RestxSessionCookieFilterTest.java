@@ -0,0 +1,162 @@
+package restx.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.joda.time.Duration;
+import org.junit.Test;
+import restx.StdRequest;
+import restx.common.metrics.dummy.DummyMetricRegistry;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class RestxSessionCookieFilterTest {
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final Signer signer = new Signer() {
+        private final Signer signer = new DefaultCookieSigner(Optional.<SignatureKey>absent());
+
+        @Override
+        public String sign(String message) {
+            return signer.sign(message);
+        }
+
+        @Override
+        public boolean verify(String message, String signedMessage) {
+            verifications.incrementAndGet();
+            return signer.verify(message, signedMessage);
+        }
+    };
+    private final SecurityModule.SecuritySettings settings = new SecurityModule.SecuritySettings() {
+        @Override
+        public int sessionsLimit() {
+            return 100;
+        }
+
+        @Override
+        public int sessionCookieCacheSize() {
+            return 10;
+        }
+
+        @Override
+        public String sessionCookieFormat() {
+            return "json";
+        }
+
+        @Override
+        public long sessionsCacheSize() {
+            return 10;
+        }
+
+        @Override
+        public long sessionsCacheExpireAfterWrite() {
+            return 0;
+        }
+
+        @Override
+        public long sessionsCacheRefreshAfterWrite() {
+            return 0;
+        }
+
+        @Override
+        public int sessionsCacheReloadThreads() {
+            return 1;
+        }
+
+        @Override
+        public String sessionsInvalidationBus() {
+            return "none";
+        }
+
+        @Override
+        public String sessionsInvalidationMulticastGroup() {
+            return "239.255.27.1";
+        }
+
+        @Override
+        public int sessionsInvalidationMulticastPort() {
+            return 4446;
+        }
+
+        @Override
+        public Optional<String> sessionsInvalidationMulticastInterface() {
+            return Optional.absent();
+        }
+    };
+    private final RestxSession.Definition definition = new RestxSession.Definition(
+            new GuavaEntryCacheManager(), ImmutableList.<RestxSession.Definition.Entry>of());
+    private final RestxSessionCookieFilter filter = new RestxSessionCookieFilter(
+            definition, new ObjectMapper(), signer, new PermissionFactory(),
+            new RestxSessionCookieDescriptor("RestxSession", "RestxSessionSignature", false),
+            settings,
+            new DummyMetricRegistry(),
+            new JsonRestxSessionCookieCodec(new ObjectMapper()));
+
+    @Test
+    public void should_verify_same_session_cookie_only_once() throws Exception {
+        ImmutableMap<String, String> cookies = filter.toCookiesMap(new RestxSession(
+                definition, ImmutableMap.of("foo", "bar"), Optional.<RestxPrincipal>absent(), Duration.ZERO));
+
+        RestxSession session = filter.buildContextFromRequest(request(cookies));
+        assertThat(session.valueidsByKeyMap()).isEqualTo(ImmutableMap.of("foo", "bar"));
+
+        session = filter.buildContextFromRequest(request(cookies));
+        assertThat(session.valueidsByKeyMap()).isEqualTo(ImmutableMap.of("foo", "bar"));
+        assertThat(verifications.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_not_use_cache_for_invalid_signature() throws Exception {
+        ImmutableMap<String, String> cookies = filter.toCookiesMap(new RestxSession(
+                definition, ImmutableMap.of("foo", "bar"), Optional.<RestxPrincipal>absent(), Duration.ZERO));
+        filter.buildContextFromRequest(request(cookies));
+
+        RestxSession session = filter.buildContextFromRequest(request(ImmutableMap.of(
+                "RestxSession", cookies.get("RestxSession"), "RestxSessionSignature", "invalid")));
+        assertThat(session.valueidsByKeyMap()).isEmpty();
+        assertThat(verifications.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_read_json_session_cookie_entries_with_read_entries() throws Exception {
+        final AtomicInteger reads = new AtomicInteger();
+        RestxSessionCookieFilter filter = new RestxSessionCookieFilter(
+                definition, new ObjectMapper(), signer, new PermissionFactory(),
+                new RestxSessionCookieDescriptor("RestxSession", "RestxSessionSignature", false),
+                settings, new DummyMetricRegistry(), new JsonRestxSessionCookieCodec(new ObjectMapper())) {
+            @Override
+            protected Map<String, String> readEntries(String cookie) throws IOException {
+                reads.incrementAndGet();
+                return super.readEntries(cookie);
+            }
+        };
+        ImmutableMap<String, String> cookies = filter.toCookiesMap(new RestxSession(
+                definition, ImmutableMap.of("foo", "bar"), Optional.<RestxPrincipal>absent(), Duration.ZERO));
+
+        RestxSession session = filter.buildContextFromRequest(request(cookies));
+        assertThat(session.valueidsByKeyMap()).isEqualTo(ImmutableMap.of("foo", "bar"));
+        assertThat(reads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_fail_on_malformed_json_session_cookie() throws Exception {
+        String cookie = "{\"foo\":";
+        try {
+            filter.buildContextFromRequest(request(ImmutableMap.of(
+                    "RestxSession", cookie, "RestxSessionSignature", signer.sign(cookie))));
+            fail("malformed session cookie should be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static StdRequest request(ImmutableMap<String, String> cookies) {
+        return StdRequest.builder().setBaseUri("http://localhost:8080/api").setRestxPath("/message")
+                .setCookiesMap(cookies).build();
+    }
+}
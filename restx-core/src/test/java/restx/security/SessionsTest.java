@@ -47,4 +47,30 @@ public class SessionsTest {
         sessions.touch("k4", ImmutableMap.<String, String>of());
         assertThat(sessions.getAll()).containsKeys("k2", "k4").hasSize(2);
     }
+
+    @Test
+    public void should_count_concurrent_touches_within_limit() throws Exception {
+        // throughput is measured by SessionsBenchmark in restx-benchmarks
+        final Sessions sessions = new Sessions(10);
+        Thread[] threads = new Thread[2];
+        for (int t = 0; t < threads.length; t++) {
+            final int thread = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100; i++) {
+                        sessions.touch("hot", ImmutableMap.<String, String>of());
+                        sessions.touch("k" + thread + "-" + i, ImmutableMap.<String, String>of());
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(sessions.getAll().size()).isLessThanOrEqualTo(10);
+        assertThat(sessions.get("hot").get().getCount()).isEqualTo(200);
+    }
 }
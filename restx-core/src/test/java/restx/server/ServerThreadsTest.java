@@ -0,0 +1,21 @@
+package restx.server;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerThreadsTest {
+    @Test
+    public void should_parse_threads_setting() throws Exception {
+        assertThat(ServerThreads.of(null).isVirtual()).isFalse();
+        assertThat(ServerThreads.of(null).getMaxThreads().isPresent()).isFalse();
+        assertThat(ServerThreads.of(" virtual ").isVirtual()).isTrue();
+        assertThat(ServerThreads.of("200").isVirtual()).isFalse();
+        assertThat(ServerThreads.of("200").getMaxThreads().get()).isEqualTo(200);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_invalid_threads_setting() throws Exception {
+        ServerThreads.of("many");
+    }
+}
@@ -174,6 +174,19 @@ public class Factory implements AutoCloseable {
             }
         }
 
+        /**
+         * Returns the LocalMachines associated with current thread, only if one has already been created by
+         * threadLocal().
+         * <p>
+         * Unlike threadLocal(), it doesn't register a LocalMachines for current thread, which matters for short
+         * lived threads like virtual threads: each of them would leave a LocalMachines registered forever.
+         *
+         * @return the LocalMachines associated with current thread, absent if none has been created.
+         */
+        public static Optional<LocalMachines> threadLocalIfPresent() {
+            return Optional.fromNullable(contextLocals.get(threadLocals.get()));
+        }
+
         /**
          * Return LocalMachines associated with another thread, by id.
          * <p>
@@ -0,0 +1,25 @@
+package restx.jackson.blackbird;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import restx.factory.Module;
+import restx.factory.Provides;
+
+import javax.inject.Named;
+
+/**
+ * Provides the jackson Blackbird module, registered on the front object mapper as any jackson Module component.
+ *
+ * Blackbird replaces reflection based access to properties, constructors and factory methods of serialized beans
+ * with code generated through LambdaMetafactory, which is much faster once warmed up.
+ *
+ * Only adding this module to the classpath is needed to enable it.
+ */
+@Module
+public class BlackbirdModuleFactory {
+    public static final String MODULE_NAME = "jackson.blackbird";
+
+    @Provides @Named(MODULE_NAME)
+    public com.fasterxml.jackson.databind.Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
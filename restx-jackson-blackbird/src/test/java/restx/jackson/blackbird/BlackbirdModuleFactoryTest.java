@@ -0,0 +1,118 @@
+package restx.jackson.blackbird;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.Test;
+import restx.factory.Factory;
+import restx.factory.Name;
+import restx.jackson.FrontObjectMapperFactory;
+import restx.jackson.Views;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlackbirdModuleFactoryTest {
+    public static class Bean {
+        private String name;
+        @JsonView(Views.Private.class)
+        private String secret;
+        @JsonView(Views.Transient.class)
+        private int count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class Holder {
+        private final PrefixedName owner;
+        private final int count;
+
+        @JsonCreator
+        public Holder(@JsonProperty("owner") PrefixedName owner, @JsonProperty("count") int count) {
+            this.owner = owner;
+            this.count = count;
+        }
+
+        public PrefixedName getOwner() {
+            return owner;
+        }
+
+        @JsonView(Views.Transient.class)
+        public int getCount() {
+            return count;
+        }
+    }
+
+    @Test
+    public void should_use_factory_components_as_custom_serializers_with_blackbird() throws Exception {
+        Factory factory = Factory.builder().addFromServiceLoader().build();
+        try {
+            ObjectWriter writer = factory.getComponent(
+                    Name.of(ObjectWriter.class, FrontObjectMapperFactory.WRITER_NAME));
+            ObjectReader reader = factory.getComponent(
+                    Name.of(ObjectReader.class, FrontObjectMapperFactory.READER_NAME));
+
+            String json = writer.without(SerializationFeature.INDENT_OUTPUT)
+                    .writeValueAsString(new Holder(new PrefixedName("restx"), 3));
+            assertThat(json).isEqualTo("{\"owner\":\"name:restx\",\"count\":3}");
+
+            Holder read = reader.forType(Holder.class).readValue(json);
+            assertThat(read.getOwner().getName()).isEqualTo("restx");
+            assertThat(read.getCount()).isEqualTo(3);
+        } finally {
+            factory.close();
+        }
+    }
+
+    @Test
+    public void should_register_blackbird_on_front_mapper_and_keep_views() throws Exception {
+        Factory factory = Factory.builder().addFromServiceLoader().build();
+        try {
+            ObjectMapper mapper = factory.getComponent(FrontObjectMapperFactory.NAME);
+            assertThat(mapper.getRegisteredModuleIds()).contains(
+                    new com.fasterxml.jackson.module.blackbird.BlackbirdModule().getTypeId());
+
+            Bean bean = new Bean();
+            bean.setName("restx");
+            bean.setSecret("s3cr3t");
+            bean.setCount(3);
+
+            assertThat(mapper.writerWithView(Views.Transient.class).writeValueAsString(bean))
+                    .isEqualTo("{\"name\":\"restx\",\"count\":3}");
+            assertThat(mapper.writerWithView(Views.Private.class).writeValueAsString(bean))
+                    .isEqualTo("{\"name\":\"restx\",\"secret\":\"s3cr3t\"}");
+
+            Bean read = mapper.readerWithView(Views.Transient.class).forType(Bean.class)
+                    .readValue("{\"name\":\"restx\",\"count\":3}");
+            assertThat(read.getName()).isEqualTo("restx");
+            assertThat(read.getCount()).isEqualTo(3);
+        } finally {
+            factory.close();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package restx.jackson.blackbird;
+
+import restx.factory.Module;
+import restx.factory.Provides;
+
+import javax.inject.Named;
+
+@Module
+public class PrefixModule {
+    public static final String PREFIX = "blackbird.test.prefix";
+
+    @Provides @Named(PREFIX)
+    public String prefix() {
+        return "name:";
+    }
+}
@@ -0,0 +1,21 @@
+package restx.jackson.blackbird;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * A value (de)serialized by factory components, which jackson can only get through restx HandlerInstantiator.
+ */
+@JsonSerialize(using = PrefixedNameSerializer.class)
+@JsonDeserialize(using = PrefixedNameDeserializer.class)
+public class PrefixedName {
+    private final String name;
+
+    public PrefixedName(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
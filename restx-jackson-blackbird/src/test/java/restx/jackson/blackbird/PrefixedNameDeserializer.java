@@ -0,0 +1,25 @@
+package restx.jackson.blackbird;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import restx.factory.Component;
+
+import javax.inject.Named;
+import java.io.IOException;
+
+@Component
+public class PrefixedNameDeserializer extends StdDeserializer<PrefixedName> {
+    private final String prefix;
+
+    public PrefixedNameDeserializer(@Named(PrefixModule.PREFIX) String prefix) {
+        super(PrefixedName.class);
+        this.prefix = prefix;
+    }
+
+    @Override
+    public PrefixedName deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String value = p.getValueAsString();
+        return new PrefixedName(value.startsWith(prefix) ? value.substring(prefix.length()) : value);
+    }
+}
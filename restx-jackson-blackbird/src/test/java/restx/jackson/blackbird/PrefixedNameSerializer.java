@@ -0,0 +1,24 @@
+package restx.jackson.blackbird;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import restx.factory.Component;
+
+import javax.inject.Named;
+import java.io.IOException;
+
+@Component
+public class PrefixedNameSerializer extends StdSerializer<PrefixedName> {
+    private final String prefix;
+
+    public PrefixedNameSerializer(@Named(PrefixModule.PREFIX) String prefix) {
+        super(PrefixedName.class);
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void serialize(PrefixedName value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeString(prefix + value.getName());
+    }
+}
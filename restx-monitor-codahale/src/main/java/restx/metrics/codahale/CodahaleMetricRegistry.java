@@ -1,10 +1,16 @@
 package restx.metrics.codahale;
 
+import restx.common.metrics.api.Gauge;
 import restx.common.metrics.api.MetricRegistry;
 import restx.common.metrics.api.Timer;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 public class CodahaleMetricRegistry implements MetricRegistry{
     com.codahale.metrics.MetricRegistry codahaleMetricRegistry = new com.codahale.metrics.MetricRegistry();
+    // a codahale gauge is registered once per name, replacing a gauge only changes the gauge it reads
+    private final ConcurrentMap<String, DelegatingGauge> gauges = new ConcurrentHashMap<>();
 
     @Override
     public Timer timer(String name) {
@@ -12,7 +18,36 @@ public class CodahaleMetricRegistry implements MetricRegistry{
         return new CodahaleTimer(timer);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void gauge(String name, Gauge<T> gauge) {
+        final Gauge<Object> current = (Gauge<Object>) gauge;
+        gauges.computeIfAbsent(name, new java.util.function.Function<String, DelegatingGauge>() {
+            @Override
+            public DelegatingGauge apply(String name) {
+                DelegatingGauge delegating = new DelegatingGauge(current);
+                // in case a gauge was registered directly on the codahale registry
+                codahaleMetricRegistry.remove(name);
+                codahaleMetricRegistry.register(name, delegating);
+                return delegating;
+            }
+        }).gauge = current;
+    }
+
     public com.codahale.metrics.MetricRegistry getCodahaleMetricRegistry() {
         return codahaleMetricRegistry;
     }
+
+    private static final class DelegatingGauge implements com.codahale.metrics.Gauge<Object> {
+        private volatile Gauge<Object> gauge;
+
+        private DelegatingGauge(Gauge<Object> gauge) {
+            this.gauge = gauge;
+        }
+
+        @Override
+        public Object getValue() {
+            return gauge.getValue();
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package samplest.core;
+
+import restx.factory.Component;
+
+/**
+ * A component which can't be used once closed, as components of a per request factory once the request is done.
+ */
+@Component
+public class AsyncGreeter implements AutoCloseable {
+    private volatile boolean closed;
+
+    public String greet(String who) {
+        if (closed) {
+            throw new IllegalStateException("greeter is closed");
+        }
+        return "hello " + who;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,49 @@
+package samplest.core;
+
+import restx.annotations.GET;
+import restx.annotations.RestxResource;
+import restx.factory.Component;
+import restx.security.PermitAll;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@RestxResource("/async") @Component
+public class AsyncResource {
+    private final AsyncGreeter greeter;
+
+    public AsyncResource(AsyncGreeter greeter) {
+        this.greeter = greeter;
+    }
+
+    @GET("/hello")
+    @PermitAll
+    public CompletableFuture<String> hello(String who) {
+        return CompletableFuture.supplyAsync(() -> "hello " + who,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+    }
+
+    @GET("/greeting")
+    @PermitAll
+    public CompletableFuture<String> greeting(String who) {
+        // the greeter is used once the route has returned
+        return CompletableFuture.supplyAsync(() -> greeter.greet(who),
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+    }
+
+    @GET("/missing")
+    @PermitAll
+    public CompletableFuture<Optional<String>> missing() {
+        return CompletableFuture.supplyAsync(Optional::empty,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+    }
+
+    @GET("/failure")
+    @PermitAll
+    public CompletableFuture<String> failure() {
+        return CompletableFuture.supplyAsync(() -> {
+            throw new IllegalArgumentException("async failure");
+        }, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,34 @@
+package samplest.core;
+
+import restx.annotations.GET;
+import restx.annotations.NonBlockingOutput;
+import restx.annotations.RestxResource;
+import restx.factory.Component;
+import restx.security.PermitAll;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@RestxResource("/nonblocking") @Component
+public class NonBlockingOutputResource {
+    @GET("/numbers")
+    @PermitAll
+    @NonBlockingOutput
+    public List<String> numbers(int count) {
+        List<String> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add("number " + i);
+        }
+        return numbers;
+    }
+
+    @GET("/async/numbers")
+    @PermitAll
+    @NonBlockingOutput
+    public CompletableFuture<List<String>> asyncNumbers(int count) {
+        return CompletableFuture.supplyAsync(() -> numbers(count),
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,45 @@
+package samplest.core;
+
+import com.github.kevinsawicki.http.HttpRequest;
+import org.junit.ClassRule;
+import org.junit.Test;
+import restx.tests.RestxServerRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncResourceTest {
+    @ClassRule
+    public static RestxServerRule server = new RestxServerRule();
+
+    @Test
+    public void should_return_result_once_completed() throws Exception {
+        HttpRequest httpRequest = server.client().GET("/api/async/hello?who=restx");
+
+        assertThat(httpRequest.code()).isEqualTo(200);
+        assertThat(httpRequest.body().trim()).isEqualTo("hello restx");
+    }
+
+    @Test
+    public void should_use_request_components_once_completed() throws Exception {
+        // in TEST mode components are built and closed per request
+        HttpRequest httpRequest = server.client().GET("/api/async/greeting?who=restx");
+
+        assertThat(httpRequest.code()).isEqualTo(200);
+        assertThat(httpRequest.body().trim()).isEqualTo("hello restx");
+    }
+
+    @Test
+    public void should_return_not_found_for_absent_result() throws Exception {
+        HttpRequest httpRequest = server.client().GET("/api/async/missing");
+
+        assertThat(httpRequest.code()).isEqualTo(404);
+    }
+
+    @Test
+    public void should_return_error_for_failed_result() throws Exception {
+        HttpRequest httpRequest = server.client().GET("/api/async/failure");
+
+        assertThat(httpRequest.code()).isEqualTo(400);
+        assertThat(httpRequest.body()).contains("async failure");
+    }
+}
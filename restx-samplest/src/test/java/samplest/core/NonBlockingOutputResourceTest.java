@@ -0,0 +1,31 @@
+package samplest.core;
+
+import com.github.kevinsawicki.http.HttpRequest;
+import org.junit.ClassRule;
+import org.junit.Test;
+import restx.tests.RestxServerRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NonBlockingOutputResourceTest {
+    @ClassRule
+    public static RestxServerRule server = new RestxServerRule();
+
+    @Test
+    public void should_send_large_response() throws Exception {
+        HttpRequest httpRequest = server.client().GET("/api/nonblocking/numbers?count=100000");
+
+        assertThat(httpRequest.code()).isEqualTo(200);
+        String body = httpRequest.body();
+        assertThat(httpRequest.contentLength()).isEqualTo(body.length());
+        assertThat(body).contains("\"number 0\"").contains("\"number 99999\"");
+    }
+
+    @Test
+    public void should_send_large_async_response() throws Exception {
+        HttpRequest httpRequest = server.client().GET("/api/nonblocking/async/numbers?count=100000");
+
+        assertThat(httpRequest.code()).isEqualTo(200);
+        assertThat(httpRequest.body()).contains("\"number 0\"").contains("\"number 99999\"");
+    }
+}
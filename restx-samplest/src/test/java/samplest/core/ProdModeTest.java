@@ -52,13 +52,14 @@ public class ProdModeTest {
         });
 
         assertThat(timers.size()).isEqualTo(1);
-        assertThat(timers.firstKey()).isEqualTo("<HTTP> GET /params/path/v1*/v2/35v4/v5");
+        // timers are registered per route, not per path
+        assertThat(timers.firstKey()).isEqualTo("<HTTP> GET /params/path/{a}/{_b}/{c}{d}/{e}");
 
         // and now we check a MBean has been created for that timer too.
-        // the name of the MBean is escaped, so it is enclosed in quotes: "
+        // the route template has no character to escape, so the name of the MBean is not enclosed in quotes
         MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
         Set<ObjectName> objectNames = mBeanServer.queryNames(
-                ObjectName.getInstance("metrics:name=\"*<HTTP> GET /params/path/*\",type=timers"), null);
+                ObjectName.getInstance("metrics:name=*<HTTP> GET /params/path/*,type=timers"), null);
         assertThat(objectNames.size()).isEqualTo(1);
     }
 }
@@ -1,20 +1,61 @@
 package restx.security;
 
+import com.google.common.base.Optional;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.util.concurrent.Callable;
+
 /**
  * A BCrypt based credentials checker.
  *
  * This is the most recommended credentials checker at the time being.
+ *
+ * BCrypt is expensive on purpose, when built with a CredentialsCheckExecutor the hashes are computed on the
+ * executor threads, bounding the number of concurrent computations. Without executor, which is the case with the
+ * default constructor, they are computed on the calling thread without any bound.
+ *
+ * To opt in, inject the CredentialsCheckExecutor provided by BasicSecurityModule where the strategy is built:
+ * <pre>
+ * &#64;Provides
+ * public CredentialsStrategy credentialsStrategy(CredentialsCheckExecutor executor) {
+ *     return new BCryptCredentialsStrategy(executor);
+ * }
+ * </pre>
  */
 public class BCryptCredentialsStrategy implements CredentialsStrategy {
+    private final Optional<CredentialsCheckExecutor> executor;
+
+    public BCryptCredentialsStrategy() {
+        this.executor = Optional.absent();
+    }
+
+    public BCryptCredentialsStrategy(CredentialsCheckExecutor executor) {
+        this.executor = Optional.of(executor);
+    }
+
     @Override
-    public boolean checkCredentials(String userName, String providedPasswordHash, String storedCredentials) {
-        return BCrypt.checkpw(providedPasswordHash, storedCredentials);
+    public boolean checkCredentials(String userName, final String providedPasswordHash, final String storedCredentials) {
+        if (!executor.isPresent()) {
+            return BCrypt.checkpw(providedPasswordHash, storedCredentials);
+        }
+        return executor.get().execute(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return BCrypt.checkpw(providedPasswordHash, storedCredentials);
+            }
+        });
     }
 
     @Override
-    public String cryptCredentialsForStorage(String userName, String providedPasswordHash) {
-        return BCrypt.hashpw(providedPasswordHash, BCrypt.gensalt());
+    public String cryptCredentialsForStorage(String userName, final String providedPasswordHash) {
+        if (!executor.isPresent()) {
+            return BCrypt.hashpw(providedPasswordHash, BCrypt.gensalt());
+        }
+        return executor.get().execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return BCrypt.hashpw(providedPasswordHash, BCrypt.gensalt());
+            }
+        });
     }
 }
@@ -2,6 +2,7 @@ package restx.security;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import restx.common.metrics.api.MetricRegistry;
 import restx.factory.Module;
 import restx.factory.Provides;
 
@@ -23,6 +24,18 @@ public class BasicSecurityModule {
         });
     }
 
+    // not used by default: inject it in the StdUserService built by the application to cache credentials checks
+    @Provides
+    public VerifiedCredentialsCache verifiedCredentialsCache(SecuritySettings settings) {
+        return new VerifiedCredentialsCache(settings);
+    }
+
+    // not used by default: inject it in the BCryptCredentialsStrategy built by the application to bound checks
+    @Provides
+    public CredentialsCheckExecutor credentialsCheckExecutor(SecuritySettings settings, MetricRegistry metrics) {
+        return new CredentialsCheckExecutor(settings, metrics);
+    }
+
     @Provides
     @Named(Session.SESSION_DEF_KEY)
     public RestxSession.Definition.Entry sessionKeySessionEntry() {
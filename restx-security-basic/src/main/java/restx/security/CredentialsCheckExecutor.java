@@ -0,0 +1,109 @@
+package restx.security;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import restx.WebException;
+import restx.common.metrics.api.Gauge;
+import restx.exceptions.WrappedCheckedException;
+import restx.common.metrics.api.MetricRegistry;
+import restx.http.HttpStatus;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An executor running expensive credentials checks, like BCrypt ones, with a bounded parallelism.
+ *
+ * Checks are run on a fixed number of threads, and waiting checks are queued up to a limit. When the queue is full
+ * the check is rejected with a 503 Service Unavailable error instead of waiting, so that a burst of logins can't
+ * keep every server thread busy checking credentials.
+ *
+ * Note that the calling thread still waits for the result of its check: this executor bounds the number of
+ * concurrent checks and fails fast when saturated, it does not release server threads while checks are running.
+ *
+ * Queue depth, active and rejected checks are exported as gauges in the metric registry.
+ *
+ * It is used only when given to BCryptCredentialsStrategy, see BasicSecurityModule which provides one configured
+ * with SecuritySettings.
+ */
+public class CredentialsCheckExecutor implements AutoCloseable {
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CredentialsCheckExecutor(SecuritySettings settings, MetricRegistry metrics) {
+        this(settings.credentialsCheckThreads() > 0
+                        ? settings.credentialsCheckThreads() : Runtime.getRuntime().availableProcessors(),
+                settings.credentialsCheckQueueSize(), metrics);
+    }
+
+    public CredentialsCheckExecutor(int threads, int queueSize, MetricRegistry metrics) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(Math.max(queueSize, 1)),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("restx-credentials-check-%d").build());
+
+        metrics.gauge("<CredentialsCheck> queueDepth", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return executor.getQueue().size();
+            }
+        });
+        metrics.gauge("<CredentialsCheck> activeCount", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return executor.getActiveCount();
+            }
+        });
+        metrics.gauge("<CredentialsCheck> rejectedCount", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return rejected.get();
+            }
+        });
+    }
+
+    /**
+     * Runs a check on this executor, blocking the calling thread until its result is available.
+     *
+     * @param check the check to run
+     * @return the result of the check
+     * @throws WebException with a 503 status if too many checks are already waiting
+     * @throws WrappedCheckedException if the check fails with a checked exception
+     */
+    public <T> T execute(Callable<T> check) {
+        Future<T> future;
+        try {
+            future = executor.submit(check);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new WebException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "too many credentials checks in progress, please retry later");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while checking credentials", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new WrappedCheckedException((Exception) cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,19 +1,32 @@
 package restx.security;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import restx.types.Types;
+import restx.common.MoreFiles;
+import restx.common.watch.FileWatchEvent;
+import restx.common.watch.WatcherSettings;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.ParameterizedType;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * A UserRepository implementation using 2 files to load data.
@@ -40,54 +53,91 @@ import java.util.Map;
  *             "admin": "tuyvuicxvcx78vdsfuisd"
  *         }
  *     </pre>
+ *
+ *    Files are loaded on first access, streaming their content with jackson, and indexed in immutable snapshots
+ *    (users by name and by role, credentials by user name). When reloadOnChange is true, the directories of the
+ *    files are watched and a file is reloaded in background as soon as it changes, its snapshot being swapped
+ *    atomically: lookups never wait for a reload. If a reload fails the previous snapshot is kept.
  */
-public class FileBasedUserRepository<U extends RestxPrincipal> implements UserRepository<U> {
+public class FileBasedUserRepository<U extends RestxPrincipal> implements UserRepository<U>, AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(FileBasedUserRepository.class);
 
-    private final Class<U> userClass;
     private final U defaultAdmin;
-    private final CachedData<String> credentials;
-    private final CachedData<U> users;
+    private final WatchedData<ImmutableMap<String, String>> credentials;
+    private final WatchedData<Users<U>> users;
+    private final ExecutorService watcherExecutor;
+    private final List<Closeable> watchers = new ArrayList<>();
 
-    public FileBasedUserRepository(Class<U> userClass, ObjectMapper mapper, U defaultAdmin,
+    public FileBasedUserRepository(Class<U> userClass, final ObjectMapper mapper, U defaultAdmin,
                                    Path usersPath, Path credentialsPath, boolean reloadOnChange) {
-        this.userClass = userClass;
         this.defaultAdmin = defaultAdmin;
-        this.credentials = new CachedData<>(credentialsPath, "credentials",
-                mapper, Types.newParameterizedType(Map.class, String.class, String.class), reloadOnChange);
-        this.users = new CachedData<U>(usersPath, "users",
-                mapper, Types.newParameterizedType(List.class, userClass), reloadOnChange) {
+        this.credentials = new WatchedData<ImmutableMap<String, String>>(
+                credentialsPath, "credentials", ImmutableMap.<String, String>of()) {
             @Override
-            @SuppressWarnings("unchecked")
-            protected Map<String, U> toMap(Object o) {
-                List<U> users = (List<U>) o;
-                Map<String, U> usersMap = new LinkedHashMap();
-                for (U user : users) {
-                    usersMap.put(user.getName(), user);
+            protected ImmutableMap<String, String> load(File file) throws IOException {
+                try (JsonParser parser = mapper.getFactory().createParser(file)) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        throw new IOException("credentials must be a json object");
+                    }
+                    ImmutableMap.Builder<String, String> credentials = ImmutableMap.builder();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        parser.nextToken();
+                        String credential = parser.getValueAsString();
+                        if (credential != null) {
+                            credentials.put(name, credential);
+                        } else {
+                            // not a credential, skip the whole value so that its content is not read as credentials
+                            parser.skipChildren();
+                        }
+                    }
+                    return credentials.buildKeepingLast();
                 }
-                return usersMap;
             }
         };
+        final ObjectReader usersReader = mapper.readerFor(userClass);
+        this.users = new WatchedData<Users<U>>(usersPath, "users", new Users<U>(
+                ImmutableMap.<String, U>of(), ImmutableSetMultimap.<String, U>of())) {
+            @Override
+            protected Users<U> load(File file) throws IOException {
+                ImmutableMap.Builder<String, U> byName = ImmutableMap.builder();
+                ImmutableSetMultimap.Builder<String, U> byRole = ImmutableSetMultimap.builder();
+                try (MappingIterator<U> iterator = usersReader.readValues(file)) {
+                    while (iterator.hasNextValue()) {
+                        U user = iterator.nextValue();
+                        byName.put(user.getName(), user);
+                        for (String role : user.getPrincipalRoles()) {
+                            byRole.put(role, user);
+                        }
+                    }
+                }
+                return new Users<>(byName.buildKeepingLast(), byRole.build());
+            }
+        };
+
+        if (reloadOnChange) {
+            // each directory watcher runs on its own thread until it is closed
+            this.watcherExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setDaemon(true).setNameFormat("restx-users-watcher-%d").build());
+            watch(usersPath, credentialsPath);
+        } else {
+            this.watcherExecutor = null;
+        }
     }
 
     @Override
     public Optional<U> findUserByName(String name) {
-        return users.get(name);
+        return Optional.fromNullable(users.get().byName.get(name));
     }
 
     @Override
     public Optional<String> findCredentialByUserName(String userName) {
-        return credentials.get(userName);
+        return Optional.fromNullable(credentials.get().get(userName));
     }
 
     @Override
     public boolean isAdminDefined() {
-        for (U u : users.data().values()) {
-            if (u.getPrincipalRoles().contains("restx-admin")) {
-                return true;
-            }
-        }
-        return false;
+        return users.get().byRole.containsKey("restx-admin");
     }
 
     @Override
@@ -95,55 +145,113 @@ public class FileBasedUserRepository<U extends RestxPrincipal> implements UserRe
         return defaultAdmin;
     }
 
-    private static class CachedData<T> {
-        private final Path dataPath;
-        private final String name;
-        private final ObjectReader reader;
-        private final boolean reloadOnChange;
-        private long dataFileTimestamp;
-        private Map<String, T> data;
+    @Override
+    public void close() {
+        for (Closeable watcher : watchers) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                logger.warn("error while closing users watcher: " + e.getMessage(), e);
+            }
+        }
+        watchers.clear();
+        if (watcherExecutor != null) {
+            watcherExecutor.shutdownNow();
+        }
+    }
 
-        public CachedData(Path path, String name, ObjectMapper mapper, ParameterizedType valueType, boolean reloadOnChange) {
-            this.dataPath = path;
-            this.name = name;
-            this.reader = mapper.reader().withType(valueType);
-            this.reloadOnChange = reloadOnChange;
+    private void watch(Path... paths) {
+        EventBus eventBus = new EventBus();
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onWatchEvent(FileWatchEvent event) {
+                Path path = event.getDir().resolve(event.getPath()).toAbsolutePath().normalize();
+                if (path.equals(users.path)) {
+                    users.reload();
+                } else if (path.equals(credentials.path)) {
+                    credentials.reload();
+                }
+            }
+        });
+
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (Path path : paths) {
+            dirs.add(path.toAbsolutePath().normalize().getParent());
         }
+        for (Path dir : dirs) {
+            if (!dir.toFile().isDirectory()) {
+                logger.warn("can't watch users directory " + dir + ": not found");
+                continue;
+            }
+            watchers.add(MoreFiles.watch(dir, eventBus, watcherExecutor, new WatcherSettings() {
+                @Override
+                public int coalescePeriod() {
+                    return 50;
+                }
 
-        public Optional<T> get(String name) {
-            return Optional.fromNullable(data().get(name));
+                @Override
+                public boolean recurse() {
+                    return false;
+                }
+            }));
         }
+    }
 
-        private synchronized Map<String, T> data() {
-            if (data == null || reloadOnChange) {
-                if (!dataPath.toFile().exists()) {
-                    logger.warn(name + " file " + dataPath.toAbsolutePath() + " not found");
-                    if (data == null) {
-                        data = new HashMap<>();
-                    }
-                } else {
-                    if (dataFileTimestamp >= dataPath.toFile().lastModified()) {
-                        logger.debug(name + " are up to date");
-                    } else {
-                        logger.debug("loading " + name + " from " + dataPath.toAbsolutePath());
-                        try {
-                            long lastModified = dataPath.toFile().lastModified();
-                            data = toMap(reader.readValue(dataPath.toFile()));
-                            dataFileTimestamp = lastModified;
-                        } catch (IOException e) {
-                            logger.warn("error while loading " + name + " file " + dataPath + ": " + e.getMessage(), e);
-                            data = new HashMap<>();
-                        }
+    private static final class Users<U> {
+        private final ImmutableMap<String, U> byName;
+        private final ImmutableSetMultimap<String, U> byRole;
+
+        private Users(ImmutableMap<String, U> byName, ImmutableSetMultimap<String, U> byRole) {
+            this.byName = byName;
+            this.byRole = byRole;
+        }
+    }
+
+    private abstract static class WatchedData<T> {
+        private final Path path;
+        private final String name;
+        private final T empty;
+        private volatile T data;
+
+        protected WatchedData(Path path, String name, T empty) {
+            this.path = path.toAbsolutePath().normalize();
+            this.name = name;
+            this.empty = empty;
+        }
+
+        public T get() {
+            T data = this.data;
+            if (data == null) {
+                synchronized (this) {
+                    if (this.data == null) {
+                        this.data = read(empty);
                     }
+                    data = this.data;
                 }
             }
             return data;
         }
 
-        @SuppressWarnings("unchecked")
-        protected Map<String, T> toMap(Object o) {
-            return (Map<String, T>) o;
+        public synchronized void reload() {
+            T previous = data;
+            data = read(previous == null ? empty : previous);
+        }
+
+        private T read(T fallback) {
+            File file = path.toFile();
+            if (!file.exists()) {
+                logger.warn(name + " file " + path + " not found");
+                return fallback;
+            }
+            logger.debug("loading " + name + " from " + path);
+            try {
+                return load(file);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("error while loading " + name + " file " + path + ": " + e.getMessage(), e);
+                return fallback;
+            }
         }
 
+        protected abstract T load(File file) throws IOException;
     }
 }
@@ -13,4 +13,24 @@ public interface SecuritySettings {
             doc = "the duration in days during which authentication should be remembered " +
                     "when using rememberme feature with StdBasicPrincipalAuthenticator")
     int rememberMeDuration();
+
+    @SettingsKey(key = "restx.security.credentials.cache.ttl", defaultValue = "60",
+            doc = "the duration in seconds during which successfully checked credentials are not checked again " +
+                    "by StdUserService when it uses a VerifiedCredentialsCache, 0 to disable the cache")
+    long credentialsCacheTtl();
+
+    @SettingsKey(key = "restx.security.credentials.cache.size", defaultValue = "1000",
+            doc = "the maximum number of users whose successfully checked credentials are kept in the " +
+                    "VerifiedCredentialsCache")
+    long credentialsCacheSize();
+
+    @SettingsKey(key = "restx.security.credentials.check.threads", defaultValue = "0",
+            doc = "the maximum number of credentials checks run in parallel by the CredentialsCheckExecutor, " +
+                    "0 to use the number of available processors")
+    int credentialsCheckThreads();
+
+    @SettingsKey(key = "restx.security.credentials.check.queue", defaultValue = "100",
+            doc = "the maximum number of credentials checks waiting for the CredentialsCheckExecutor, " +
+                    "further checks are rejected with a 503 error")
+    int credentialsCheckQueueSize();
 }
@@ -12,13 +12,35 @@ public class StdUserService<U extends RestxPrincipal> implements UserService<U>
     private final UserRepository<U> repository;
     private final CredentialsStrategy checker;
     private final String defaultAdminPasswordHash;
+    private final VerifiedCredentialsCache verifiedCredentials;
 
+    /**
+     * Builds a user service checking credentials with the given strategy on each call, without caching
+     * verifications.
+     *
+     * Use the constructor taking a VerifiedCredentialsCache to opt in for the cache, like the one provided by
+     * BasicSecurityModule.
+     */
     public StdUserService(UserRepository<U> repository,
                           CredentialsStrategy checker,
                           String defaultAdminPasswordHash) {
+        this(repository, checker, defaultAdminPasswordHash, VerifiedCredentialsCache.disabled());
+    }
+
+    /**
+     * @param verifiedCredentials a cache of successfully checked credentials, useful when the credentials strategy
+     *                            is expensive (like BCrypt) and clients authenticate on each request (like with
+     *                            HTTP Basic authentication). Inject the one provided by BasicSecurityModule to
+     *                            have it configured with SecuritySettings.
+     */
+    public StdUserService(UserRepository<U> repository,
+                          CredentialsStrategy checker,
+                          String defaultAdminPasswordHash,
+                          VerifiedCredentialsCache verifiedCredentials) {
         this.repository = checkNotNull(repository);
         this.checker = checkNotNull(checker);
         this.defaultAdminPasswordHash = checkNotNull(defaultAdminPasswordHash);
+        this.verifiedCredentials = checkNotNull(verifiedCredentials);
     }
 
     @Override
@@ -51,10 +73,26 @@ public class StdUserService<U extends RestxPrincipal> implements UserService<U>
             return Optional.absent();
         }
 
+        if (verifiedCredentials.isVerified(name, passwordHash, credential.get())) {
+            return user;
+        }
         if (checker.checkCredentials(name, passwordHash, credential.get())) {
+            verifiedCredentials.verified(name, passwordHash, credential.get());
             return user;
         } else {
             return Optional.absent();
         }
     }
+
+    /**
+     * Forgets the cached credentials verifications of a user.
+     *
+     * Credential updates in the repository are taken into account without calling this method, call it when the
+     * way credentials are checked changes for a user without its stored credential being updated.
+     *
+     * @param name the user name
+     */
+    public void invalidateCredentials(String name) {
+        verifiedCredentials.invalidate(name);
+    }
 }
@@ -0,0 +1,96 @@
+package restx.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import restx.common.Crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A short lived cache of verified credentials, so that credentials checked with an expensive strategy like BCrypt
+ * are not checked again on each request of clients authenticating on every request, as with HTTP Basic
+ * authentication.
+ *
+ * Credentials are never kept in clear: entries are keyed by user name and hold a HMAC of the user name, the provided
+ * password hash and the stored credential, computed with a random key generated when the cache is created. As the
+ * stored credential is part of the HMAC, updating the credential of a user makes its cached verification useless.
+ *
+ * Only the last successful verification of each user is cached, and a TTL or size of 0 disables the cache.
+ *
+ * This cache is used only when given to StdUserService, see BasicSecurityModule which provides one configured with
+ * SecuritySettings.
+ */
+public class VerifiedCredentialsCache {
+    public static VerifiedCredentialsCache disabled() {
+        return new VerifiedCredentialsCache(0, 0);
+    }
+
+    private final boolean enabled;
+    private final Crypto.Hmac hmac;
+    // user name -> HMAC of verified credentials
+    private final Cache<String, byte[]> verified;
+
+    public VerifiedCredentialsCache(SecuritySettings settings) {
+        this(settings.credentialsCacheTtl(), settings.credentialsCacheSize());
+    }
+
+    public VerifiedCredentialsCache(long ttlSeconds, long maximumSize) {
+        this.enabled = ttlSeconds > 0 && maximumSize > 0;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmac = Crypto.hmac(key, Crypto.HMAC_SHA256);
+        this.verified = CacheBuilder.newBuilder()
+                .expireAfterWrite(Math.max(ttlSeconds, 0), TimeUnit.SECONDS)
+                .maximumSize(Math.max(maximumSize, 0))
+                .build();
+    }
+
+    /**
+     * Tells whether the given credentials have been verified recently.
+     *
+     * @param name the user name
+     * @param passwordHash the password hash provided by the user
+     * @param credential the credential stored for the user
+     * @return true if a successful verification of the same credentials is cached.
+     */
+    public boolean isVerified(String name, String passwordHash, String credential) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] signature = verified.getIfPresent(name);
+        return signature != null && MessageDigest.isEqual(signature, sign(name, passwordHash, credential));
+    }
+
+    /**
+     * Records a successful verification of credentials.
+     *
+     * @param name the user name
+     * @param passwordHash the password hash provided by the user
+     * @param credential the credential stored for the user
+     */
+    public void verified(String name, String passwordHash, String credential) {
+        if (enabled) {
+            verified.put(name, sign(name, passwordHash, credential));
+        }
+    }
+
+    /**
+     * Invalidates the cached verification of a user.
+     *
+     * @param name the user name
+     */
+    public void invalidate(String name) {
+        verified.invalidate(name);
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    private byte[] sign(String name, String passwordHash, String credential) {
+        return hmac.sign(name + '\0' + passwordHash + '\0' + credential).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package restx.security;
+
+import org.junit.Test;
+import restx.WebException;
+import restx.common.metrics.dummy.DummyMetricRegistry;
+import restx.exceptions.WrappedCheckedException;
+import restx.factory.Factory;
+import restx.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class CredentialsCheckExecutorTest {
+    @Test
+    public void should_reject_checks_when_saturated() throws Exception {
+        final CredentialsCheckExecutor executor = new CredentialsCheckExecutor(1, 1, new DummyMetricRegistry());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<Boolean> slowCheck = new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                started.countDown();
+                release.await();
+                return true;
+            }
+        };
+
+        // one running check, one queued check
+        Thread running = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(slowCheck);
+            }
+        });
+        running.start();
+        started.await();
+        Thread queued = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(slowCheck);
+            }
+        });
+        queued.start();
+        while (queued.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+
+        try {
+            executor.execute(slowCheck);
+            fail("should have been rejected");
+        } catch (WebException e) {
+            assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        release.countDown();
+        running.join();
+        queued.join();
+        assertThat(new BCryptCredentialsStrategy(executor).checkCredentials(
+                "john", "pwd", new BCryptCredentialsStrategy().cryptCredentialsForStorage("john", "pwd"))).isTrue();
+        executor.close();
+    }
+
+    @Test
+    public void should_wrap_checked_exceptions() throws Exception {
+        CredentialsCheckExecutor executor = new CredentialsCheckExecutor(1, 1, new DummyMetricRegistry());
+        try {
+            executor.execute(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    throw new IOException("credentials store unavailable");
+                }
+            });
+            fail("should have failed");
+        } catch (WrappedCheckedException e) {
+            assertThat(e.getCause()).isInstanceOf(IOException.class);
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void should_check_bcrypt_credentials_with_executor_provided_by_module() throws Exception {
+        Factory factory = Factory.builder().addFromServiceLoader().build();
+        try {
+            BCryptCredentialsStrategy strategy =
+                    new BCryptCredentialsStrategy(factory.getComponent(CredentialsCheckExecutor.class));
+
+            String credentials = strategy.cryptCredentialsForStorage("john", "pwd");
+            assertThat(strategy.checkCredentials("john", "pwd", credentials)).isTrue();
+            assertThat(strategy.checkCredentials("john", "wrong", credentials)).isFalse();
+        } finally {
+            factory.close();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -70,7 +71,12 @@ public class FileBasedUserRepositoryTest {
         Thread.sleep(1000); // sleep enough to make sure timestamp changes
 
         Files.copy(getClass().getResourceAsStream("credentials2.json"), credentialsPath, StandardCopyOption.REPLACE_EXISTING);
+        // reload is performed in background when the file change is notified
+        for (int i = 0; i < 100 && !repo.findCredentialByUserName("john").equals(Optional.of("johnpwd2")); i++) {
+            Thread.sleep(50);
+        }
         assertThat(repo.findCredentialByUserName("john")).isEqualTo(Optional.of("johnpwd2"));
+        repo.close();
     }
 
     @Test
@@ -83,9 +89,15 @@ public class FileBasedUserRepositoryTest {
 
         Thread.sleep(1000); // sleep enough to make sure timestamp changes
         Files.copy(getClass().getResourceAsStream("users2.json"), usersPath, StandardCopyOption.REPLACE_EXISTING);
+        // reload is performed in background when the file change is notified
+        for (int i = 0; i < 100 && !repo.findUserByName("jane").isPresent(); i++) {
+            Thread.sleep(50);
+        }
 
         checkUser(repo.findUserByName("john"), "john", "role2");
         checkUser(repo.findUserByName("jane"), "jane", "role1", "role2");
+        assertThat(repo.isAdminDefined()).isFalse();
+        repo.close();
     }
 
 
@@ -104,6 +116,52 @@ public class FileBasedUserRepositoryTest {
         assertThat(repo.findUserByName("jane").isPresent()).isFalse();
     }
 
+    @Test
+    public void should_reload_files_from_different_directories() throws Exception {
+        Path usersDir = Files.createTempDirectory("users");
+        Path credentialsDir = Files.createTempDirectory("credentials");
+        Path users = usersDir.resolve("users.json");
+        Path credentials = credentialsDir.resolve("credentials.json");
+        Files.copy(getClass().getResourceAsStream("users.json"), users);
+        Files.copy(getClass().getResourceAsStream("credentials.json"), credentials);
+        FileBasedUserRepository<StdUser> repo = new FileBasedUserRepository<>(
+                StdUser.class, mapper, admin, users, credentials, true);
+        try {
+            checkUser(repo.findUserByName("john"), "john", "role1");
+            assertThat(repo.findCredentialByUserName("john")).isEqualTo(Optional.of("johnpwd"));
+
+            Thread.sleep(1000); // sleep enough to make sure timestamp changes
+            Files.copy(getClass().getResourceAsStream("users2.json"), users, StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(getClass().getResourceAsStream("credentials2.json"), credentials,
+                    StandardCopyOption.REPLACE_EXISTING);
+            // both directories are watched, each file is reloaded in background
+            for (int i = 0; i < 100 && !(repo.findUserByName("jane").isPresent()
+                    && repo.findCredentialByUserName("john").equals(Optional.of("johnpwd2"))); i++) {
+                Thread.sleep(50);
+            }
+
+            checkUser(repo.findUserByName("jane"), "jane", "role1", "role2");
+            assertThat(repo.findCredentialByUserName("john")).isEqualTo(Optional.of("johnpwd2"));
+        } finally {
+            repo.close();
+            Files.delete(users);
+            Files.delete(credentials);
+            Files.delete(usersDir);
+            Files.delete(credentialsDir);
+        }
+    }
+
+    @Test
+    public void should_skip_credentials_which_are_not_strings() throws Exception {
+        FileBasedUserRepository<StdUser> repo = newRepo(false);
+        Files.write(credentialsPath, ("{\"john\": {\"jane\": \"nested\"}, \"joe\": [\"a\", \"b\"], " +
+                "\"jack\": \"jackpwd\"}").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(repo.findCredentialByUserName("john").isPresent()).isFalse();
+        assertThat(repo.findCredentialByUserName("jane").isPresent()).isFalse();
+        assertThat(repo.findCredentialByUserName("joe").isPresent()).isFalse();
+        assertThat(repo.findCredentialByUserName("jack")).isEqualTo(Optional.of("jackpwd"));
+    }
 
     private void checkUser(Optional<StdUser> u, String name, String... roles) {
         assertThat(u.isPresent()).isTrue();
@@ -0,0 +1,105 @@
+package restx.security;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import restx.factory.Factory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StdUserServiceTest {
+    private final StdUser user = new StdUser("john", ImmutableSet.<String>of());
+    private final StdUser admin = new StdUser("admin", ImmutableSet.of("restx-admin"));
+    private final AtomicInteger checks = new AtomicInteger();
+    private String storedCredential = "pwd1";
+
+    private final UserRepository<StdUser> repository = new UserRepository<StdUser>() {
+        @Override
+        public Optional<StdUser> findUserByName(String name) {
+            return name.equals("john") ? Optional.of(user) : Optional.<StdUser>absent();
+        }
+
+        @Override
+        public Optional<String> findCredentialByUserName(String name) {
+            return name.equals("john") ? Optional.of(storedCredential) : Optional.<String>absent();
+        }
+
+        @Override
+        public boolean isAdminDefined() {
+            return true;
+        }
+
+        @Override
+        public StdUser defaultAdmin() {
+            return admin;
+        }
+    };
+
+    private final CredentialsStrategy checker = new CredentialsStrategy() {
+        @Override
+        public boolean checkCredentials(String userName, String providedPasswordHash, String storedCredentials) {
+            checks.incrementAndGet();
+            return providedPasswordHash.equals(storedCredentials);
+        }
+
+        @Override
+        public String cryptCredentialsForStorage(String userName, String providedPasswordHash) {
+            return providedPasswordHash;
+        }
+    };
+
+    @Test
+    public void should_check_credentials_once_when_cached() throws Exception {
+        StdUserService<StdUser> service = new StdUserService<>(repository, checker, "",
+                new VerifiedCredentialsCache(60, 10));
+
+        assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+        assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+        assertThat(checks.get()).isEqualTo(1);
+
+        // failed checks are not cached
+        assertThat(service.findAndCheckCredentials("john", "wrong").isPresent()).isFalse();
+        assertThat(service.findAndCheckCredentials("john", "wrong").isPresent()).isFalse();
+        assertThat(checks.get()).isEqualTo(3);
+
+        // updating the stored credential invalidates previous verifications
+        storedCredential = "pwd2";
+        assertThat(service.findAndCheckCredentials("john", "pwd1").isPresent()).isFalse();
+        assertThat(checks.get()).isEqualTo(4);
+
+        storedCredential = "pwd1";
+        service.invalidateCredentials("john");
+        assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+        assertThat(checks.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void should_check_credentials_once_with_cache_provided_by_module() throws Exception {
+        Factory factory = Factory.builder().addFromServiceLoader().build();
+        try {
+            StdUserService<StdUser> service = new StdUserService<>(repository, checker, "",
+                    factory.getComponent(VerifiedCredentialsCache.class));
+
+            assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+            assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+            assertThat(checks.get()).isEqualTo(1);
+
+            service.invalidateCredentials("john");
+            assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+            assertThat(checks.get()).isEqualTo(2);
+        } finally {
+            factory.close();
+        }
+    }
+
+    @Test
+    public void should_check_credentials_each_time_when_not_cached() throws Exception {
+        StdUserService<StdUser> service = new StdUserService<>(repository, checker, "");
+
+        assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+        assertThat(service.findAndCheckCredentials("john", "pwd1").get()).isSameAs(user);
+        assertThat(checks.get()).isEqualTo(2);
+    }
+}
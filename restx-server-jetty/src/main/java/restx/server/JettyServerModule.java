@@ -27,7 +27,8 @@ public class JettyServerModule {
     @Named("restx.server.jetty")
     public WebServerSupplier jettyWebServerSupplier(
             @Named("restx.server.jetty.appbase.default.location") String appBase,
-            @Named("restx.server.jetty.webxml.default.location") String webxml) {
-        return JettyWebServer.jettyWebServerSupplier(webxml, appBase);
+            @Named("restx.server.jetty.webxml.default.location") String webxml,
+            ServerSettings settings) {
+        return JettyWebServer.jettyWebServerSupplier(webxml, appBase, settings);
     }
 }
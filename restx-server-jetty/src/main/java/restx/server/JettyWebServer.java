@@ -2,13 +2,17 @@ package restx.server;
 
 import com.google.common.base.Strings;
 import org.eclipse.jetty.ee10.webapp.WebAppContext;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
 import org.eclipse.jetty.security.DefaultIdentityService;
 import org.eclipse.jetty.security.HashLoginService;
 import org.eclipse.jetty.security.UserStore;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.util.VirtualThreads;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
@@ -24,18 +28,25 @@ public class JettyWebServer extends WebServerBase {
 
     private Server server;
     private String webInfLocation;
+    private final ServerSettings settings;
 
     public JettyWebServer(String appBase, int aPort) {
         this(null, appBase, aPort, null);
     }
 
     public JettyWebServer(String webInfLocation, String appBase, int port, String bindInterface) {
+        this(webInfLocation, appBase, port, bindInterface, ServerSettingsConfig.fromSystemProperties());
+    }
+
+    public JettyWebServer(String webInfLocation, String appBase, int port, String bindInterface,
+                          ServerSettings settings) {
         super(checkNotNull(appBase), port, bindInterface, "Jetty", "org.eclipse.jetty", "jetty-server");
 
         if (webInfLocation != null) {
             checkFileExists(webInfLocation);
         }
         this.webInfLocation = webInfLocation;
+        this.settings = checkNotNull(settings);
     }
 
     @Override
@@ -59,16 +70,37 @@ public class JettyWebServer extends WebServerBase {
     }
 
     protected ThreadPool createThreadPool() {
+        ServerThreads threads = ServerThreads.from(settings);
         QueuedThreadPool threadPool = new QueuedThreadPool();
         threadPool.setMinThreads(1);
-        threadPool.setMaxThreads(Math.max(10, Runtime.getRuntime().availableProcessors()));
+        threadPool.setMaxThreads(threads.getMaxThreads().or(Math.max(10, Runtime.getRuntime().availableProcessors())));
+        if (threads.isVirtual()) {
+            if (VirtualThreads.areSupported()) {
+                // the pool threads still run the selectors, requests are handled on virtual threads
+                threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+            } else {
+                logger.warn("virtual threads are not supported by this JVM, using platform threads");
+            }
+        }
         return threadPool;
     }
 
     protected ServerConnector createConnector(Server server) {
-        ServerConnector connector = new ServerConnector(server);
+        HttpConfiguration httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setRequestHeaderSize(settings.requestHeaderSize());
+        httpConfiguration.setOutputBufferSize(settings.outputBufferSize());
+
+        HttpConnectionFactory http11 = new HttpConnectionFactory(httpConfiguration);
+        ServerConnector connector = settings.h2c()
+                ? new ServerConnector(server, settings.acceptors(), settings.selectors(),
+                        http11, new HTTP2CServerConnectionFactory(httpConfiguration))
+                : new ServerConnector(server, settings.acceptors(), settings.selectors(), http11);
         connector.setPort(port);
         connector.setHost(bindInterface);
+        connector.setIdleTimeout(settings.idleTimeout());
+        if (settings.acceptQueueSize() > 0) {
+            connector.setAcceptQueueSize(settings.acceptQueueSize());
+        }
         return connector;
     }
 
@@ -109,6 +141,11 @@ public class JettyWebServer extends WebServerBase {
         return port -> new JettyWebServer(webInfLocation, appBase, port, "0.0.0.0");
     }
 
+    public static WebServerSupplier jettyWebServerSupplier(final String webInfLocation, final String appBase,
+                                                           final ServerSettings settings) {
+        return port -> new JettyWebServer(webInfLocation, appBase, port, "0.0.0.0", settings);
+    }
+
     public static void main(String[] args) throws Exception {
         if (args.length == 0) {
             System.err.println("usage: jetty-run <appbase> [<port>]");
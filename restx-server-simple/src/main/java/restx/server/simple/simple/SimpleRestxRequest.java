@@ -27,16 +27,28 @@ public class SimpleRestxRequest extends AbstractRequest {
     private final String restxPath;
     private final String apiPath;
     private final Request request;
-    private BufferedInputStream bufferedInputStream;
+    private final boolean spoolContent;
+    private InputStream contentStream;
     private ImmutableMap<String, ImmutableList<String>> queryParams;
+    private String restxUri;
 
     public SimpleRestxRequest(HttpSettings httpSettings, String apiPath, Request request) {
+        this(httpSettings, apiPath, request, true);
+    }
+
+    /**
+     * @param spoolContent true to buffer the beginning of the request body, so that it can be read again to report
+     *                     json processing errors. When false the body is read straight from the server stream.
+     */
+    public SimpleRestxRequest(HttpSettings httpSettings, String apiPath, Request request, boolean spoolContent) {
         super(httpSettings);
         this.apiPath = apiPath;
         this.request = request;
+        this.spoolContent = spoolContent;
         String path = request.getTarget().substring(apiPath.length());
-        if (path.indexOf("?") != -1) {
-            path = path.substring(0, path.indexOf("?"));
+        int queryStart = path.indexOf('?');
+        if (queryStart != -1) {
+            path = path.substring(0, queryStart);
         }
         this.restxPath = path;
     }
@@ -63,7 +75,10 @@ public class SimpleRestxRequest extends AbstractRequest {
 
     @Override
     public String getRestxUri() {
-        return getRestxPath() + (request.getQuery().isEmpty() ? "" : "?" + request.getQuery().toString());
+        if (restxUri == null) {
+            restxUri = getRestxPath() + (request.getQuery().isEmpty() ? "" : "?" + request.getQuery().toString());
+        }
+        return restxUri;
     }
 
     @Override
@@ -127,25 +142,32 @@ public class SimpleRestxRequest extends AbstractRequest {
 
     @Override
     public InputStream getContentStream() throws IOException {
-        /*
-           maybe we could do this buffering only in dev mode?
-           It is used to be able to read data again in case of json processing error.
-         */
-        if (bufferedInputStream == null) {
-            bufferedInputStream = new BufferedInputStream(request.getInputStream()) {
-                @Override
-                public void close() throws IOException {
-                    // NO OP, see #closeContentStream
-                }
-            };
-            bufferedInputStream.mark(10 * 1024);
+        if (contentStream == null) {
+            InputStream in = limitContentStream(request.getInputStream());
+            if (spoolContent) {
+                /*
+                   buffering is used to be able to read data again in case of json processing error,
+                   it is only done when spooling is enabled (outside of PROD mode)
+                 */
+                BufferedInputStream bufferedInputStream = new BufferedInputStream(in) {
+                    @Override
+                    public void close() throws IOException {
+                        // NO OP, see #closeContentStream
+                    }
+                };
+                bufferedInputStream.mark(10 * 1024);
+                in = bufferedInputStream;
+            }
+            contentStream = in;
         }
-        return bufferedInputStream;
+        return contentStream;
     }
 
     @Override
     public void closeContentStream() throws IOException {
-        bufferedInputStream.close();
+        if (contentStream != null) {
+            contentStream.close();
+        }
     }
 
     @Override
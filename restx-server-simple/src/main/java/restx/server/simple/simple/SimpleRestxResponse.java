@@ -18,10 +18,20 @@ import java.io.OutputStream;
  */
 public class SimpleRestxResponse extends AbstractResponse<Response> {
     private final Response response;
+    private final int bufferSize;
 
     public SimpleRestxResponse(Response response) {
+        this(response, -1);
+    }
+
+    /**
+     * @param response the simple response
+     * @param bufferSize the size in bytes of the output buffer, negative to use simple default.
+     */
+    public SimpleRestxResponse(Response response, int bufferSize) {
         super(Response.class, response);
         this.response = response;
+        this.bufferSize = bufferSize;
     }
 
     @Override
@@ -66,7 +76,7 @@ public class SimpleRestxResponse extends AbstractResponse<Response> {
 
     @Override
     protected OutputStream doGetOutputStream() throws IOException {
-        return response.getOutputStream();
+        return bufferSize < 0 ? response.getOutputStream() : response.getOutputStream(bufferSize);
     }
 
     @Override
@@ -2,6 +2,7 @@ package restx.server.simple.simple;
 
 import restx.factory.Module;
 import restx.factory.Provides;
+import restx.server.ServerSettings;
 import restx.server.WebServerSupplier;
 
 import javax.inject.Named;
@@ -13,7 +14,7 @@ import javax.inject.Named;
 public class SimpleServerModule {
     @Provides
     @Named("restx.server.simple")
-    public WebServerSupplier simpleWebServerSupplier(){
-        return SimpleWebServer.simpleWebServerSupplier();
+    public WebServerSupplier simpleWebServerSupplier(ServerSettings settings){
+        return SimpleWebServer.simpleWebServerSupplier(settings);
     }
 }
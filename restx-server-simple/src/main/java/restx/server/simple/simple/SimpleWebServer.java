@@ -1,19 +1,25 @@
 package restx.server.simple.simple;
 
 import com.google.common.base.Optional;
+import org.simpleframework.common.buffer.FileAllocator;
 import org.simpleframework.http.Request;
 import org.simpleframework.http.Response;
 import org.simpleframework.http.core.Container;
-import org.simpleframework.http.core.ContainerServer;
-import org.simpleframework.transport.Server;
+import org.simpleframework.http.core.ContainerSocketProcessor;
 import org.simpleframework.transport.connect.Connection;
 import org.simpleframework.transport.connect.SocketConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import restx.AppSettings;
 import restx.HttpSettings;
+import restx.RestxContext;
 import restx.RestxMainRouter;
 import restx.RestxMainRouterFactory;
 import restx.factory.Factory;
+import restx.http.HttpStatus;
+import restx.server.ServerSettings;
+import restx.server.ServerSettingsConfig;
+import restx.server.ServerThreads;
 import restx.server.WebServer;
 import restx.server.WebServerBase;
 import restx.server.WebServerSupplier;
@@ -22,6 +28,9 @@ import restx.server.WebServers;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * User: xavierhanin
@@ -35,6 +44,7 @@ public abstract class SimpleWebServer extends WebServerBase {
         private String appBase = null;
         private String bindInterface = "0.0.0.0";
         private RestxMainRouter router;
+        private ServerSettings settings;
         public SimpleWebServerBuilder setPort(int port) {
             this.port = port;
             return this;
@@ -60,9 +70,16 @@ public abstract class SimpleWebServer extends WebServerBase {
             return this;
         }
 
+        public SimpleWebServerBuilder setSettings(ServerSettings settings) {
+            this.settings = settings;
+            return this;
+        }
+
         public SimpleWebServer build() {
+            final ServerSettings settings = this.settings == null ?
+                    ServerSettingsConfig.fromSystemProperties() : this.settings;
             if (router == null) {
-                return new SimpleWebServer(routerPath, appBase, port, bindInterface) {
+                return new SimpleWebServer(routerPath, appBase, port, bindInterface, settings) {
                     @Override
                     protected RestxMainRouter setupRouter() {
                         return RestxMainRouterFactory.newInstance(
@@ -78,7 +95,7 @@ public abstract class SimpleWebServer extends WebServerBase {
                     }
                 };
             } else {
-                return new SimpleWebServer(routerPath, appBase, port, bindInterface) {
+                return new SimpleWebServer(routerPath, appBase, port, bindInterface, settings) {
                     @Override
                     protected RestxMainRouter setupRouter() {
                         return router;
@@ -94,17 +111,29 @@ public abstract class SimpleWebServer extends WebServerBase {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleWebServer.class);
 
+    // simple defaults
+    private static final int DEFAULT_WORKERS = 8;
+    private static final int DEFAULT_SELECTORS = 1;
+
     private final String routerPath;
+    private final ServerSettings settings;
     private final HttpSettings httpSettings;
+    private final boolean spoolContent;
 
     private RestxMainRouter router;
+    // the server is a party until it stops, each running request is another one
+    private Phaser runningRequests;
     private Connection connection;
+    private volatile boolean stopping;
 
-    private SimpleWebServer(String routerPath, String appBase, int port, String bindInterface) {
+    private SimpleWebServer(String routerPath, String appBase, int port, String bindInterface,
+                            ServerSettings settings) {
         super(appBase, port, bindInterface, "SimpleFrameowkr", "org.simpleframework", "simple");
 
         this.routerPath = routerPath;
+        this.settings = settings;
         this.httpSettings = Factory.getInstance().getComponent(HttpSettings.class);
+        this.spoolContent = !RestxContext.Modes.PROD.equals(Factory.getInstance().getComponent(AppSettings.class).mode());
     }
 
     public RestxMainRouter getRouter() {
@@ -116,30 +145,67 @@ public abstract class SimpleWebServer extends WebServerBase {
         logger.debug("starting web server");
 
         router = setupRouter();
+        runningRequests = new Phaser(1);
+        stopping = false;
 
+        final int outputBufferSize = settings.outputBufferSize();
+        final Phaser runningRequests = this.runningRequests;
         Container container = new Container() {
             @Override
             public void handle(Request request, Response response) {
+                runningRequests.register();
                 try {
-                    if (request.getTarget().startsWith(routerPath)) {
+                    if (stopping) {
+                        response.setCode(HttpStatus.SERVICE_UNAVAILABLE.getCode());
+                        response.setValue("Connection", "close");
+                        response.close();
+                    } else if (request.getTarget().startsWith(routerPath)) {
                         router.route(
-                                new SimpleRestxRequest(httpSettings, routerPath, request), new SimpleRestxResponse(response));
+                                new SimpleRestxRequest(httpSettings, routerPath, request, spoolContent),
+                                new SimpleRestxResponse(response, outputBufferSize));
                     } else {
                         response.getPrintStream().print("Not found...");
                         response.getPrintStream().close();
                     }
                 } catch (IOException e) {
-                    throw new RuntimeException(e);
+                    // the client is most likely gone, there is nothing more to send
+                    logger.debug("error while handling {}: {}", request.getTarget(), e.toString());
+                    closeQuietly(response);
+                } finally {
+                    runningRequests.arriveAndDeregister();
                 }
             }
         };
-        Server server = new ContainerServer(container);
-        connection = new SocketConnection(server);
+
+        ContainerSocketProcessor processor = new ContainerSocketProcessor(
+                container, new FileAllocator(settings.inputBufferSize()), workers(), selectors());
+        connection = new SocketConnection(processor);
         SocketAddress address = new InetSocketAddress(port);
 
         connection.connect(address);
     }
 
+    private int workers() {
+        ServerThreads threads = ServerThreads.from(settings);
+        if (threads.isVirtual()) {
+            logger.warn("simple server doesn't support virtual threads, using {} worker threads", DEFAULT_WORKERS);
+            return DEFAULT_WORKERS;
+        }
+        return threads.getMaxThreads().or(DEFAULT_WORKERS);
+    }
+
+    private int selectors() {
+        return settings.selectors() > 0 ? settings.selectors() : DEFAULT_SELECTORS;
+    }
+
+    private static void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
     protected abstract RestxMainRouter setupRouter();
 
     @Override
@@ -149,6 +215,16 @@ public abstract class SimpleWebServer extends WebServerBase {
 
     @Override
     protected void _stop() throws Exception {
+        // new requests are rejected from now, running ones are given stopTimeout to complete
+        stopping = true;
+        // the phase advances once the server and all running requests have arrived
+        int phase = runningRequests.arriveAndDeregister();
+        try {
+            runningRequests.awaitAdvanceInterruptibly(phase, settings.stopTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("stopping simple server with {} running requests", runningRequests.getUnarrivedParties());
+        }
+
         if (router instanceof AutoCloseable) {
             ((AutoCloseable) router).close();
         }
@@ -157,10 +233,15 @@ public abstract class SimpleWebServer extends WebServerBase {
     }
 
     public static WebServerSupplier simpleWebServerSupplier() {
+        return simpleWebServerSupplier(ServerSettingsConfig.fromSystemProperties());
+    }
+
+    public static WebServerSupplier simpleWebServerSupplier(final ServerSettings settings) {
         return new WebServerSupplier() {
             @Override
             public WebServer newWebServer(int port) {
-                return SimpleWebServer.builder().setPort(port).setBindInterface("0.0.0.0").build();
+                return SimpleWebServer.builder().setPort(port).setBindInterface("0.0.0.0")
+                        .setSettings(settings).build();
             }
         };
     }
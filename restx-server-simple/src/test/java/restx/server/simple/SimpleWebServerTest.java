@@ -16,6 +16,7 @@ import restx.server.simple.simple.SimpleWebServer;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -75,8 +76,10 @@ public class SimpleWebServerTest {
             assertThat(httpRequest.contentType()).isEqualTo("text/plain; charset=UTF-8");
             assertThat(httpRequest.body().trim()).isEqualTo("hello");
 
+            // the path is served by a readonly route, other methods are not allowed
             httpRequest = HttpRequest.put(server.baseUrl() + "/api/test/test.txt").send("bonjour");
-            assertThat(httpRequest.code()).isEqualTo(HttpStatus.NOT_FOUND.getCode());
+            assertThat(httpRequest.code()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED.getCode());
+            assertThat(httpRequest.header("Allow")).isEqualTo("GET");
         } finally {
             server.stop();
         }
@@ -198,6 +201,71 @@ public class SimpleWebServerTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_complete_running_requests_on_stop() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SimpleWebServer server = SimpleWebServer.builder().setRouter(StdRestxMainRouter.builder()
+                .addRouter(RestxRouter.builder()
+                        .withMapper(mapper)
+                        .GET("/slow", Map.class, new MatchedEntityOutputRoute() {
+                            @Override
+                            public Optional route(RestxRequest restxRequest, RestxRequestMatch match) {
+                                started.countDown();
+                                try {
+                                    release.await();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                return Optional.of(ImmutableMap.of("slow", "done"));
+                            }
+                        })
+                        .build())
+                .build())
+                .setRouterPath("/api").setPort(WebServers.findAvailablePort()).build();
+        server.start();
+
+        final String url = server.baseUrl() + "/api/slow";
+        final HttpRequest[] slowRequest = new HttpRequest[1];
+        Thread client = new Thread() {
+            @Override
+            public void run() {
+                HttpRequest httpRequest = HttpRequest.get(url);
+                httpRequest.code();
+                slowRequest[0] = httpRequest;
+            }
+        };
+        client.start();
+        started.await();
+
+        Thread stopper = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    server.stop();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        stopper.start();
+        try {
+            // the server waits for the running request before stopping
+            for (int i = 0; i < 1000 && stopper.getState() != Thread.State.TIMED_WAITING; i++) {
+                Thread.sleep(5);
+            }
+            assertThat(stopper.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+        } finally {
+            release.countDown();
+        }
+        stopper.join();
+        client.join();
+
+        assertThat(slowRequest[0].code()).isEqualTo(200);
+        assertThat(slowRequest[0].body().trim()).isEqualTo("{\"slow\":\"done\"}");
+    }
+
     private static boolean isWindowsOS() {
         return System.getProperty("os.name").toLowerCase().contains("windows");
     }
@@ -0,0 +1,121 @@
+package restx.servers;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Assume;
+import org.junit.Test;
+import restx.common.ConfigElement;
+import restx.common.StdRestxConfig;
+import restx.server.JettyWebServer;
+import restx.server.ServerSettings;
+import restx.server.ServerSettingsConfig;
+import restx.server.TomcatWebServer;
+import restx.server.WebServer;
+import restx.server.WebServerSupplier;
+import restx.server.WebServers;
+import restx.tests.HttpTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static restx.factory.Factory.LocalMachines.contextLocal;
+
+/**
+ * Local load test showing the throughput of embedded servers with different connector settings.
+ *
+ * It is skipped unless run with -Drestx.loadtest=true, concurrency and duration can be set with
+ * restx.loadtest.clients and restx.loadtest.seconds system properties.
+ */
+public class ServerSettingsLoadTest {
+    private static final int CLIENTS = Integer.getInteger("restx.loadtest.clients", 32);
+    private static final int SECONDS = Integer.getInteger("restx.loadtest.seconds", 10);
+
+    private static final ImmutableMap<String, ImmutableMap<String, String>> SETTINGS =
+            ImmutableMap.<String, ImmutableMap<String, String>>builder()
+                    .put("defaults", ImmutableMap.<String, String>of())
+                    .put("8 threads", ImmutableMap.of("restx.server.threads", "8"))
+                    .put("200 threads, accept queue 1024", ImmutableMap.of(
+                            "restx.server.threads", "200",
+                            "restx.server.acceptQueueSize", "1024"))
+                    .put("small output buffer", ImmutableMap.of("restx.server.outputBufferSize", "2048"))
+                    .put("virtual threads", ImmutableMap.of("restx.server.threads", "virtual"))
+                    .build();
+
+    @Test
+    public void should_report_throughput_for_each_settings() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("restx.loadtest"));
+
+        for (Map.Entry<String, ImmutableMap<String, String>> entry : SETTINGS.entrySet()) {
+            final ServerSettings settings = settings(entry.getValue());
+            run("jetty", entry.getKey(), new WebServerSupplier() {
+                @Override
+                public WebServer newWebServer(int port) {
+                    return new JettyWebServer("src/main/webapp/WEB-INF/web.xml", "src/main/webapp",
+                            port, "0.0.0.0", settings);
+                }
+            });
+            run("tomcat", entry.getKey(), TomcatWebServer.tomcatWebServerSupplier(
+                    "src/main/webapp", "0.0.0.0", settings));
+        }
+    }
+
+    private void run(String serverName, String settingsName, WebServerSupplier supplier) throws Exception {
+        WebServer server = supplier.newWebServer(WebServers.findAvailablePort());
+        contextLocal(server.getServerId()).set("restx.mode", "prod");
+        server.start();
+        try {
+            final HttpTestClient client = HttpTestClient.withBaseUrl(server.baseUrl());
+            // warm up
+            hit(client, System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+            ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                Stopwatch stopwatch = Stopwatch.createStarted();
+                List<Future<Long>> results = new ArrayList<>();
+                for (int i = 0; i < CLIENTS; i++) {
+                    results.add(executor.submit(new Callable<Long>() {
+                        @Override
+                        public Long call() throws Exception {
+                            return hit(client, deadline);
+                        }
+                    }));
+                }
+                long requests = 0;
+                for (Future<Long> result : results) {
+                    requests += result.get();
+                }
+                long elapsed = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+                System.out.printf("%-8s %-32s %8d requests %10.1f req/s%n",
+                        serverName, settingsName, requests, requests * 1000d / elapsed);
+            } finally {
+                executor.shutdownNow();
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static long hit(HttpTestClient client, long deadline) {
+        long requests = 0;
+        while (System.nanoTime() < deadline) {
+            client.GET("/api/sessions/current").code();
+            requests++;
+        }
+        return requests;
+    }
+
+    private static ServerSettings settings(Map<String, String> values) {
+        List<ConfigElement> elements = new ArrayList<>();
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            elements.add(ConfigElement.of("loadtest", "", value.getKey(), value.getValue()));
+        }
+        return new ServerSettingsConfig(StdRestxConfig.of(elements));
+    }
+}
@@ -4,9 +4,11 @@ import com.google.common.base.Throwables;
 import jakarta.servlet.ServletException;
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
 import org.apache.catalina.core.AprLifecycleListener;
 import org.apache.catalina.core.StandardServer;
 import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +24,11 @@ public class TomcatWebServer extends WebServerBase {
     private final Context context;
 
     public TomcatWebServer(String appBase, int port, String bindInterface) throws ServletException {
+        this(appBase, port, bindInterface, ServerSettingsConfig.fromSystemProperties());
+    }
+
+    public TomcatWebServer(String appBase, int port, String bindInterface,
+                           ServerSettings settings) throws ServletException {
         super(checkNotNull(appBase), port, bindInterface, "Apache Tomcat", "org.apache.tomcat", "tomcat-catalina");
 
         tomcat = new Tomcat();
@@ -32,7 +39,9 @@ public class TomcatWebServer extends WebServerBase {
 
         // Create default connector with port
         // Do not remove as Tomcat open the port only if getConnector is called at least once
-        tomcat.getConnector();
+        Connector connector = tomcat.getConnector();
+        configureThreads(connector, ServerThreads.from(settings));
+        configureConnector(connector, settings);
 
         String contextPath = "";
 
@@ -44,6 +53,37 @@ public class TomcatWebServer extends WebServerBase {
         context = tomcat.addWebapp(contextPath, appBase);
     }
 
+    protected void configureThreads(Connector connector, ServerThreads threads) {
+        if (threads.getMaxThreads().isPresent()) {
+            connector.setProperty("maxThreads", String.valueOf(threads.getMaxThreads().get()));
+        }
+        if (threads.isVirtual()) {
+            if (ServerThreads.areVirtualThreadsSupported()) {
+                connector.setProperty("useVirtualThreads", "true");
+            } else {
+                logger.warn("virtual threads are not supported by this JVM, using platform threads");
+            }
+        }
+    }
+
+    /**
+     * Applies the connector settings.
+     *
+     * Acceptors and selectors settings are ignored: Tomcat NIO connector uses a single acceptor and poller thread.
+     */
+    protected void configureConnector(Connector connector, ServerSettings settings) {
+        if (settings.acceptQueueSize() > 0) {
+            connector.setProperty("acceptCount", String.valueOf(settings.acceptQueueSize()));
+        }
+        connector.setProperty("connectionTimeout", String.valueOf(settings.idleTimeout()));
+        connector.setProperty("keepAliveTimeout", String.valueOf(settings.idleTimeout()));
+        connector.setProperty("maxHttpHeaderSize", String.valueOf(settings.requestHeaderSize()));
+        connector.setProperty("socket.appWriteBufSize", String.valueOf(settings.outputBufferSize()));
+        if (settings.h2c()) {
+            connector.addUpgradeProtocol(new Http2Protocol());
+        }
+    }
+
     @Override
     protected void _start() throws LifecycleException {
         context.addParameter("restx.baseServerUri", baseUrl());
@@ -74,4 +114,18 @@ public class TomcatWebServer extends WebServerBase {
         };
     }
 
+    public static WebServerSupplier tomcatWebServerSupplier(final String appBase, final String bindInterface,
+                                                            final ServerSettings settings) {
+        return new WebServerSupplier() {
+            @Override
+            public WebServer newWebServer(int port) {
+                try {
+                    return new TomcatWebServer(appBase, port, bindInterface, settings);
+                } catch (ServletException e) {
+                    throw Throwables.propagate(e);
+                }
+            }
+        };
+    }
+
 }
@@ -19,7 +19,8 @@ public class TomcatWebServerModule {
 
     @Provides
     @Named("restx.server.tomcat")
-    public WebServerSupplier tomcatWebServerSupplier(@Named("restx.server.tomcat.appbase.default.location") String appBase){
-        return TomcatWebServer.tomcatWebServerSupplier(appBase, "0.0.0.0");
+    public WebServerSupplier tomcatWebServerSupplier(@Named("restx.server.tomcat.appbase.default.location") String appBase,
+                                                     ServerSettings settings){
+        return TomcatWebServer.tomcatWebServerSupplier(appBase, "0.0.0.0", settings);
     }
 }
@@ -4,7 +4,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import restx.AppSettings;
 import restx.HttpSettings;
+import restx.RestxContext;
 import restx.RestxMainRouter;
 import restx.factory.Factory;
 
@@ -18,6 +20,8 @@ import java.io.IOException;
 public class AbstractRestxMainRouterServlet extends HttpServlet {
     private RestxMainRouter mainRouter;
     private HttpSettings httpSettings;
+    // request bodies are spooled to report json errors, except in PROD mode where they are parsed from the container
+    private boolean spoolContent = true;
 
     public AbstractRestxMainRouterServlet() {
     }
@@ -29,6 +33,7 @@ public class AbstractRestxMainRouterServlet extends HttpServlet {
     protected void init(RestxMainRouter mainRouter) {
         this.mainRouter = mainRouter;
         httpSettings = Factory.getInstance().getComponent(HttpSettings.class);
+        spoolContent = !RestxContext.Modes.PROD.equals(Factory.getInstance().getComponent(AppSettings.class).mode());
     }
 
     @Override
@@ -46,7 +51,7 @@ public class AbstractRestxMainRouterServlet extends HttpServlet {
     @Override
     protected void service(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException {
         mainRouter.route(
-                new HttpServletRestxRequest(httpSettings, req),
+                new HttpServletRestxRequest(httpSettings, req, spoolContent),
                 new HttpServletRestxResponse(resp, req));
     }
 }
@@ -9,6 +9,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.Part;
 import restx.AbstractRequest;
+import restx.AsyncRestxRequest;
 import restx.HttpSettings;
 
 import java.io.BufferedInputStream;
@@ -23,14 +24,28 @@ import java.util.*;
  * Date: 1/22/13
  * Time: 2:52 PM
  */
-public class HttpServletRestxRequest extends AbstractRequest {
+public class HttpServletRestxRequest extends AbstractRequest implements AsyncRestxRequest {
     private final HttpServletRequest request;
-    private BufferedInputStream bufferedInputStream;
+    private final boolean spoolContent;
+    private InputStream contentStream;
     private ImmutableMap<String, ImmutableList<String>> queryParams;
+    // paths are computed on first access, they are used by most routes and filters on each request
+    private String baseApiPath;
+    private String restxPath;
+    private String restxUri;
 
     public HttpServletRestxRequest(HttpSettings httpSettings, HttpServletRequest request) {
+        this(httpSettings, request, true);
+    }
+
+    /**
+     * @param spoolContent true to buffer the beginning of the request body, so that it can be read again to report
+     *                     json processing errors. When false the body is read straight from the container stream.
+     */
+    public HttpServletRestxRequest(HttpSettings httpSettings, HttpServletRequest request, boolean spoolContent) {
         super(httpSettings);
         this.request = request;
+        this.spoolContent = spoolContent;
     }
 
     @Override
@@ -40,7 +55,10 @@ public class HttpServletRestxRequest extends AbstractRequest {
 
     @Override
     protected String getBaseApiPath() {
-        return request.getContextPath() + request.getServletPath();
+        if (baseApiPath == null) {
+            baseApiPath = request.getContextPath() + request.getServletPath();
+        }
+        return baseApiPath;
     }
 
     @Override
@@ -50,24 +68,38 @@ public class HttpServletRestxRequest extends AbstractRequest {
 
     @Override
     public String getRestxPath() {
-        String restxPath = request.getRequestURI().substring((getBaseApiPath()).length());
-        if (this.httpSettings.decodeURLPathParams()) {
-            try {
-                restxPath = URLDecoder.decode(restxPath, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-                throw Throwables.propagate(e);
+        if (restxPath == null) {
+            String path = request.getRequestURI().substring((getBaseApiPath()).length());
+            if (this.httpSettings.decodeURLPathParams()) {
+                path = decode(path);
             }
+            restxPath = path;
         }
         return restxPath;
     }
 
+    private static String decode(String path) {
+        // URLDecoder only changes percent encoded chars and '+', most paths have none of them
+        if (path.indexOf('%') == -1 && path.indexOf('+') == -1) {
+            return path;
+        }
+        try {
+            return URLDecoder.decode(path, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
     @Override
     public String getRestxUri() {
-        if (request.getQueryString() == null) {
-            return getRestxPath();
-        } else {
-            return getRestxPath() + "?" + request.getQueryString();
+        if (restxUri == null) {
+            if (request.getQueryString() == null) {
+                restxUri = getRestxPath();
+            } else {
+                restxUri = getRestxPath() + "?" + request.getQueryString();
+            }
         }
+        return restxUri;
     }
 
     @Override
@@ -104,25 +136,32 @@ public class HttpServletRestxRequest extends AbstractRequest {
 
     @Override
     public InputStream getContentStream() throws IOException {
-        /*
-           maybe we could do this buffering only in dev mode?
-           It is used to be able to read data again in case of json processing error.
-         */
-        if (bufferedInputStream == null) {
-            bufferedInputStream = new BufferedInputStream(request.getInputStream()) {
-                @Override
-                public void close() throws IOException {
-                    // NO OP, see #closeContentStream
-                }
-            };
-            bufferedInputStream.mark(10 * 1024);
+        if (contentStream == null) {
+            InputStream in = limitContentStream(request.getInputStream());
+            if (spoolContent) {
+                /*
+                   buffering is used to be able to read data again in case of json processing error,
+                   it is only done when spooling is enabled (outside of PROD mode)
+                 */
+                BufferedInputStream bufferedInputStream = new BufferedInputStream(in) {
+                    @Override
+                    public void close() throws IOException {
+                        // NO OP, see #closeContentStream
+                    }
+                };
+                bufferedInputStream.mark(10 * 1024);
+                in = bufferedInputStream;
+            }
+            contentStream = in;
         }
-        return bufferedInputStream;
+        return contentStream;
     }
 
     @Override
     public void closeContentStream() throws IOException {
-        bufferedInputStream.close();
+        if (contentStream != null) {
+            contentStream.close();
+        }
     }
 
     @Override
@@ -198,6 +237,17 @@ public class HttpServletRestxRequest extends AbstractRequest {
         throw new IllegalArgumentException("underlying implementation is HttpServletRequest, not " + clazz.getName());
     }
 
+    @Override
+    public boolean isAsyncSupported() {
+        return request.isAsyncSupported();
+    }
+
+    @Override
+    public Completion startAsync(AbortListener abortListener) {
+        // the container async timeout applies, the abort listener is notified if it expires before completion
+        return ServletAsync.of(request).start(-1, abortListener);
+    }
+
     @Override
     public Locale getLocale() {
         return request.getLocale();
@@ -6,6 +6,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.joda.time.Duration;
 import restx.AbstractResponse;
+import restx.AsyncRestxRequest;
+import restx.NonBlockingRestxResponse;
 import restx.RestxResponse;
 import restx.http.HttpStatus;
 import restx.security.RestxSessionCookieDescriptor;
@@ -18,9 +20,13 @@ import java.io.OutputStream;
  * Date: 2/6/13
  * Time: 9:40 PM
  */
-public class HttpServletRestxResponse extends AbstractResponse<HttpServletResponse> {
+public class HttpServletRestxResponse extends AbstractResponse<HttpServletResponse>
+        implements NonBlockingRestxResponse {
     private final HttpServletResponse resp;
     private final HttpServletRequest request;
+    // only set when non blocking output is enabled
+    private NonBlockingOutputStream nonBlockingOutput;
+    private boolean outputStreamRequested;
 
     public HttpServletRestxResponse(HttpServletResponse resp, HttpServletRequest request) {
         super(HttpServletResponse.class, resp);
@@ -33,13 +39,46 @@ public class HttpServletRestxResponse extends AbstractResponse<HttpServletRespon
         resp.setStatus(httpStatus.getCode());
     }
 
+    @Override
+    public boolean enableNonBlockingOutput() {
+        if (outputStreamRequested || !request.isAsyncSupported()) {
+            return false;
+        }
+        if (nonBlockingOutput == null) {
+            nonBlockingOutput = new NonBlockingOutputStream();
+        }
+        return true;
+    }
+
     @Override
     protected OutputStream doGetOutputStream() throws IOException {
-        return resp.getOutputStream();
+        outputStreamRequested = true;
+        if (nonBlockingOutput != null) {
+            return nonBlockingOutput;
+        }
+        // async routes may still write after the container has timed out the request, which must fail
+        ServletAsync async = ServletAsync.ifStarted(request);
+        return async == null ? resp.getOutputStream() : async.guard(resp.getOutputStream());
     }
 
     @Override
     protected void closeResponse() throws IOException {
+        if (nonBlockingOutput == null || nonBlockingOutput.size() == 0) {
+            return;
+        }
+        // we can't tell the content length if the content is encoded, typically gzipped
+        if (!resp.isCommitted() && !getHeader("Content-Encoding").isPresent()) {
+            resp.setContentLengthLong(nonBlockingOutput.size());
+        }
+        // slow clients may take longer than the container default async timeout to read the response,
+        // idle connections are still closed by the container
+        final AsyncRestxRequest.Completion completion = ServletAsync.of(request).start(0);
+        nonBlockingOutput.drain(resp.getOutputStream(), new Runnable() {
+            @Override
+            public void run() {
+                completion.complete();
+            }
+        });
     }
 
     @Override
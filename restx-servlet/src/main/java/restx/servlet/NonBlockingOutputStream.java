@@ -0,0 +1,115 @@
+package restx.servlet;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An output stream keeping the response content in pooled chunks, which are sent to the servlet output stream with
+ * a WriteListener, only when the container tells it can be written without blocking.
+ */
+final class NonBlockingOutputStream extends OutputStream {
+    private static final Logger logger = LoggerFactory.getLogger(NonBlockingOutputStream.class);
+
+    static final int CHUNK_SIZE = 16 * 1024;
+    // at most 4MB of chunks are kept in the pool, chunks of larger responses are left to the GC
+    private static final BlockingQueue<byte[]> pool = new ArrayBlockingQueue<>(256);
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    // number of bytes used in the last chunk
+    private int count = CHUNK_SIZE;
+
+    @Override
+    public void write(int b) {
+        if (count == CHUNK_SIZE) {
+            addChunk();
+        }
+        chunks.get(chunks.size() - 1)[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (count == CHUNK_SIZE) {
+                addChunk();
+            }
+            int n = Math.min(len, CHUNK_SIZE - count);
+            System.arraycopy(b, off, chunks.get(chunks.size() - 1), count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void close() {
+        // NO OP, content is sent with drain()
+    }
+
+    long size() {
+        return chunks.isEmpty() ? 0 : (long) (chunks.size() - 1) * CHUNK_SIZE + count;
+    }
+
+    /**
+     * Sends the content to the given servlet output stream, whose request must be in async mode.
+     *
+     * @param out the servlet output stream
+     * @param onDone called once the content is sent, or sending it failed.
+     */
+    void drain(final ServletOutputStream out, final Runnable onDone) {
+        out.setWriteListener(new WriteListener() {
+            private int index;
+            private boolean done;
+
+            @Override
+            public void onWritePossible() throws IOException {
+                while (!done && out.isReady()) {
+                    if (index == chunks.size()) {
+                        done();
+                        return;
+                    }
+                    byte[] chunk = chunks.get(index);
+                    out.write(chunk, 0, index == chunks.size() - 1 ? count : CHUNK_SIZE);
+                    index++;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.debug("error while sending non blocking response: {}", t.toString());
+                done();
+            }
+
+            private void done() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                release();
+                onDone.run();
+            }
+        });
+    }
+
+    void release() {
+        for (byte[] chunk : chunks) {
+            pool.offer(chunk);
+        }
+        chunks.clear();
+        count = CHUNK_SIZE;
+    }
+
+    private void addChunk() {
+        byte[] chunk = pool.poll();
+        chunks.add(chunk == null ? new byte[CHUNK_SIZE] : chunk);
+        count = 0;
+    }
+}
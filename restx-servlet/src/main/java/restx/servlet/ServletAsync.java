@@ -0,0 +1,192 @@
+package restx.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import restx.AsyncRestxRequest;
+import restx.WebException;
+import restx.http.HttpStatus;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The async context of a servlet request, shared by the restx request and response.
+ *
+ * Both an async route and a non blocking response may need to complete the request after the servlet returns,
+ * the async context is completed once all of them are done.
+ *
+ * If the container times out the async context or reports an error first, the abort listeners are notified and the
+ * async context is completed right away: later completions are ignored, and writes to guarded output streams fail.
+ */
+final class ServletAsync {
+    private static final Logger logger = LoggerFactory.getLogger(ServletAsync.class);
+    private static final String ATTRIBUTE = ServletAsync.class.getName();
+
+    static ServletAsync of(HttpServletRequest request) {
+        synchronized (request) {
+            ServletAsync async = (ServletAsync) request.getAttribute(ATTRIBUTE);
+            if (async == null) {
+                request.setAttribute(ATTRIBUTE, async = new ServletAsync(request));
+            }
+            return async;
+        }
+    }
+
+    /**
+     * @return the async context of the request if async processing has been started, null otherwise.
+     */
+    static ServletAsync ifStarted(HttpServletRequest request) {
+        synchronized (request) {
+            return (ServletAsync) request.getAttribute(ATTRIBUTE);
+        }
+    }
+
+    private final HttpServletRequest request;
+    private final List<AsyncRestxRequest.AbortListener> abortListeners = new ArrayList<>();
+    private AsyncContext asyncContext;
+    private int pending;
+    private boolean aborted;
+    private volatile boolean completed;
+
+    private ServletAsync(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Starts async processing of the request if not started yet.
+     *
+     * @param timeout the async timeout in milliseconds, 0 for no timeout, negative to keep the container default.
+     * @return the completion to call once done.
+     */
+    AsyncRestxRequest.Completion start(long timeout) {
+        return start(timeout, null);
+    }
+
+    /**
+     * Starts async processing of the request if not started yet.
+     *
+     * @param timeout the async timeout in milliseconds, 0 for no timeout, negative to keep the container default.
+     * @param abortListener notified if the container times out or reports an error before completion, may be null.
+     * @return the completion to call once done.
+     */
+    synchronized AsyncRestxRequest.Completion start(long timeout, AsyncRestxRequest.AbortListener abortListener) {
+        if (asyncContext == null) {
+            asyncContext = request.startAsync();
+            asyncContext.addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    abort(new WebException(HttpStatus.SERVICE_UNAVAILABLE, "async processing timed out"));
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    abort(event.getThrowable());
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+        if (timeout >= 0) {
+            asyncContext.setTimeout(timeout);
+        }
+        if (abortListener != null) {
+            abortListeners.add(abortListener);
+        }
+        pending++;
+        final AtomicBoolean released = new AtomicBoolean();
+        return new AsyncRestxRequest.Completion() {
+            @Override
+            public void complete() {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            }
+        };
+    }
+
+    /**
+     * Guards an output stream of the response: writes fail once the async context is completed, as the container
+     * may have recycled the response for another request.
+     */
+    OutputStream guard(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                checkNotCompleted();
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                checkNotCompleted();
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                checkNotCompleted();
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!completed) {
+                    out.close();
+                }
+            }
+        };
+    }
+
+    private void checkNotCompleted() throws IOException {
+        if (completed) {
+            throw new IOException("response can't be written anymore, async processing is over for " + request);
+        }
+    }
+
+    private synchronized void release() {
+        if (--pending == 0 && !completed) {
+            completed = true;
+            asyncContext.complete();
+        }
+    }
+
+    private void abort(Throwable cause) {
+        List<AsyncRestxRequest.AbortListener> listeners;
+        synchronized (this) {
+            if (aborted || completed) {
+                return;
+            }
+            aborted = true;
+            listeners = new ArrayList<>(abortListeners);
+        }
+        logger.debug("async processing aborted for {}: {}", request, cause);
+        // listeners may still write an error response, the async context is completed once they have returned
+        for (AsyncRestxRequest.AbortListener listener : listeners) {
+            try {
+                listener.onAbort(cause);
+            } catch (RuntimeException e) {
+                logger.warn("error while aborting async processing of " + request + ": " + e.getMessage(), e);
+            }
+        }
+        synchronized (this) {
+            if (!completed) {
+                completed = true;
+                asyncContext.complete();
+            }
+        }
+    }
+}
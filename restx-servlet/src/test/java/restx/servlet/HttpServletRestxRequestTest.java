@@ -0,0 +1,138 @@
+package restx.servlet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.Test;
+import restx.HttpSettingsConfig;
+import restx.RequestBodyTooLargeException;
+import restx.common.ConfigElement;
+import restx.common.StdRestxConfig;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpServletRestxRequestTest {
+
+    @Test
+    public void should_reject_too_large_content_length_before_reading() throws Exception {
+        HttpServletRequest request = request(new byte[10]);
+        when(request.getHeader("Content-Length")).thenReturn("1001");
+
+        try {
+            new HttpServletRestxRequest(settings("1000"), request, false).getContentStream();
+            fail("should raise RequestBodyTooLargeException");
+        } catch (RequestBodyTooLargeException e) {
+            assertThat(e.getMaxSize()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    public void should_reject_too_large_streamed_body_while_reading() throws Exception {
+        // no Content-Length, as with chunked requests
+        HttpServletRequest request = request(new byte[1001]);
+
+        InputStream in = new HttpServletRestxRequest(settings("1000"), request, false).getContentStream();
+        try {
+            ByteStreams.toByteArray(in);
+            fail("should raise RequestBodyTooLargeException");
+        } catch (RequestBodyTooLargeException e) {
+            assertThat(e.getMaxSize()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    public void should_accept_body_up_to_max_size() throws Exception {
+        HttpServletRequest request = request(new byte[1000]);
+        when(request.getHeader("Content-Length")).thenReturn("1000");
+
+        InputStream in = new HttpServletRestxRequest(settings("1000"), request, false).getContentStream();
+
+        assertThat(ByteStreams.toByteArray(in)).hasSize(1000);
+    }
+
+    @Test
+    public void should_not_limit_body_size_by_default() throws Exception {
+        HttpServletRequest request = request(new byte[100000]);
+        when(request.getHeader("Content-Length")).thenReturn("100000");
+
+        InputStream in = new HttpServletRestxRequest(settings(null), request, false).getContentStream();
+
+        assertThat(ByteStreams.toByteArray(in)).hasSize(100000);
+    }
+
+    @Test
+    public void should_read_from_container_stream_when_not_spooling() throws Exception {
+        HttpServletRequest request = request("hello".getBytes());
+
+        InputStream in = new HttpServletRestxRequest(settings(null), request, false).getContentStream();
+
+        assertThat(in).isNotInstanceOf(BufferedInputStream.class);
+        assertThat(in.markSupported()).isFalse();
+        assertThat(new String(ByteStreams.toByteArray(in))).isEqualTo("hello");
+    }
+
+    @Test
+    public void should_spool_body_when_spooling() throws Exception {
+        HttpServletRequest request = request("hello".getBytes());
+
+        InputStream in = new HttpServletRestxRequest(settings(null), request, true).getContentStream();
+
+        assertThat(new String(ByteStreams.toByteArray(in))).isEqualTo("hello");
+        in.reset();
+        assertThat(new String(ByteStreams.toByteArray(in))).isEqualTo("hello");
+    }
+
+    private static HttpSettingsConfig settings(String maxSize) {
+        return new HttpSettingsConfig(StdRestxConfig.of(maxSize == null
+                ? ImmutableList.<ConfigElement>of()
+                : ImmutableList.of(ConfigElement.of("restx.http.request.body.maxSize", maxSize))));
+    }
+
+    private static HttpServletRequest request(byte[] body) throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getInputStream()).thenReturn(new TestServletInputStream(body));
+        return request;
+    }
+
+    private static class TestServletInputStream extends ServletInputStream {
+        private final ByteArrayInputStream in;
+
+        private TestServletInputStream(byte[] body) {
+            this.in = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+    }
+}
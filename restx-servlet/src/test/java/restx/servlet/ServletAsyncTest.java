@@ -0,0 +1,127 @@
+package restx.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import restx.AsyncRestxRequest;
+import restx.WebException;
+import restx.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ServletAsyncTest {
+
+    @Test
+    public void should_complete_once_all_completions_are_done() throws Exception {
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        HttpServletRequest request = request(asyncContext);
+
+        AsyncRestxRequest.Completion route = ServletAsync.of(request).start(-1);
+        AsyncRestxRequest.Completion output = ServletAsync.of(request).start(0);
+        route.complete();
+        verify(asyncContext, times(0)).complete();
+
+        output.complete();
+        output.complete();
+        verify(asyncContext, times(1)).complete();
+    }
+
+    @Test
+    public void should_notify_abort_and_ignore_late_completion_on_timeout() throws Exception {
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        HttpServletRequest request = request(asyncContext);
+        final AtomicReference<Throwable> aborted = new AtomicReference<>();
+
+        AsyncRestxRequest.Completion completion = ServletAsync.of(request).start(-1,
+                new AsyncRestxRequest.AbortListener() {
+                    @Override
+                    public void onAbort(Throwable cause) {
+                        aborted.set(cause);
+                    }
+                });
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        OutputStream out = ServletAsync.ifStarted(request).guard(body);
+        out.write('a');
+
+        listener(asyncContext).onTimeout(new AsyncEvent(asyncContext));
+
+        assertThat(aborted.get()).isInstanceOf(WebException.class);
+        assertThat(((WebException) aborted.get()).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(asyncContext, times(1)).complete();
+
+        // the route completes too late: its writes fail and its completion is ignored
+        try {
+            out.write('b');
+            fail("should not write once async processing is over");
+        } catch (IOException e) {
+            assertThat(e.getMessage()).contains("async processing is over");
+        }
+        completion.complete();
+        verify(asyncContext, times(1)).complete();
+        assertThat(body.toString()).isEqualTo("a");
+    }
+
+    @Test
+    public void should_notify_abort_on_error() throws Exception {
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        HttpServletRequest request = request(asyncContext);
+        final AtomicReference<Throwable> aborted = new AtomicReference<>();
+
+        ServletAsync.of(request).start(-1, new AsyncRestxRequest.AbortListener() {
+            @Override
+            public void onAbort(Throwable cause) {
+                aborted.set(cause);
+            }
+        });
+        IOException error = new IOException("connection reset");
+        listener(asyncContext).onError(new AsyncEvent(asyncContext, error));
+
+        assertThat(aborted.get()).isSameAs(error);
+        verify(asyncContext, times(1)).complete();
+    }
+
+    private static AsyncListener listener(AsyncContext asyncContext) {
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private static HttpServletRequest request(AsyncContext asyncContext) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        final Map<String, Object> attributes = new HashMap<>();
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return attributes.put(invocation.<String>getArgument(0), invocation.getArgument(1));
+            }
+        }).when(request).setAttribute(anyString(), any());
+        when(request.getAttribute(anyString())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return attributes.get(invocation.<String>getArgument(0));
+            }
+        });
+        when(request.startAsync()).thenReturn(asyncContext);
+        return request;
+    }
+}
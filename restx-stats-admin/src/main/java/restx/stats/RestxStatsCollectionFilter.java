@@ -33,12 +33,19 @@ public final class RestxStatsCollectionFilter implements RestxRouteFilter, Restx
     }
 
     @Override
-    public void handle(RestxRequestMatch match, RestxRequest req, RestxResponse resp, RestxContext ctx) throws IOException {
-        Stopwatch stopwatch = Stopwatch.createStarted();
+    public void handle(RestxRequestMatch match, final RestxRequest req, final RestxResponse resp,
+                       RestxContext ctx) throws IOException {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
         try {
             ctx.nextHandlerMatch().handle(req, resp, ctx);
         } finally {
-            collector.notifyRequest(req, resp, stopwatch.stop());
+            // async routes write their response after the chain returns, stats are collected once they are done
+            ctx.whenDone(new Runnable() {
+                @Override
+                public void run() {
+                    collector.notifyRequest(req, resp, stopwatch.stop());
+                }
+            });
         }
     }
 